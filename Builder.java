@@ -1,6 +1,15 @@
 package Coding.StringBuilder;
 
-public interface Builder {
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+
+public interface Builder extends CharSequence, Appendable {
 
     Builder append(char value);
 
@@ -10,6 +19,12 @@ public interface Builder {
 
     Builder append(String value);
 
+    Builder append(CharSequence value);
+
+    Builder append(CharSequence value, int start, int end);
+
+    Builder append(boolean value);
+
     Builder append(int value);
 
     Builder append(long value);
@@ -26,6 +41,8 @@ public interface Builder {
 
     Builder insert(int offset, String value);
 
+    Builder insert(int offset, CharSequence value);
+
     Builder insert(int offset, int value);
 
     Builder insert(int offset, long value);
@@ -58,5 +75,392 @@ public interface Builder {
 
     int indexOf(String value, int fromIndex);
 
+    default int indexOf(char value) {
+        return indexOf(value, 0);
+    }
+
+    default int indexOf(char value, int fromIndex) {
+        for (int i = Math.max(fromIndex, 0); i < length(); i++) {
+            if (charAt(i) == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    default int lastIndexOf(char value) {
+        return lastIndexOf(value, length() - 1);
+    }
+
+    default int lastIndexOf(char value, int fromIndex) {
+        for (int i = Math.min(fromIndex, length() - 1); i >= 0; i--) {
+            if (charAt(i) == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    default boolean contains(String value) {
+        return indexOf(value) >= 0;
+    }
+
+    default boolean startsWith(String prefix) {
+        int prefixLength = prefix.length();
+
+        if (prefixLength > length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefixLength; i++) {
+            if (charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    default boolean endsWith(String suffix) {
+        int suffixLength = suffix.length();
+        int start = length() - suffixLength;
+
+        if (start < 0) {
+            return false;
+        }
+
+        for (int i = 0; i < suffixLength; i++) {
+            if (charAt(start + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Number of non-overlapping occurrences of the value, 0 for an empty value.
+     */
+    default int count(String value) {
+        if (value.isEmpty()) {
+            return 0;
+        }
+
+        int count = 0;
+        for (int position = indexOf(value); position >= 0; position = indexOf(value, position + value.length())) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Replace the chars between start and end with the value.
+     */
+    default Builder replace(int start, int end, CharSequence value) {
+        if (start < 0 || start > end || end > length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        if (value == this) {
+            value = toString();
+        }
+
+        if (start < end) {
+            delete(start, end);
+        }
+
+        return insert(start, value);
+    }
+
+    /**
+     * Replace every occurrence of the target, scanning left to right, the same way String.replace does.
+     */
+    default Builder replaceAll(CharSequence target, CharSequence replacement) {
+        String targetValue = target.toString();
+        String replacementValue = replacement.toString();
+
+        if (targetValue.isEmpty()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        for (int position = indexOf(targetValue);
+             position >= 0;
+             position = indexOf(targetValue, position + replacementValue.length())) {
+            replace(position, position + targetValue.length(), replacementValue);
+        }
+
+        return this;
+    }
+
+    /**
+     * Report every occurrence of every pattern, overlapping ones included.
+     */
+    default void findAll(MultiPattern patterns, MultiPattern.MatchHandler handler) {
+        patterns.scan(this, handler);
+    }
+
+    /**
+     * Replace the matches of the patterns left to right, taking the longest match at each position, with the
+     * replacement at the index of the matched pattern.
+     */
+    default Builder replaceAll(MultiPattern patterns, CharSequence[] replacements) {
+        if (replacements.length != patterns.getPatternCount()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        int[] matches = patterns.selectLeftmostLongest(this);
+
+        for (int i = matches.length - 2; i >= 0; i -= 2) {
+            int start = matches[i];
+            int pattern = matches[i + 1];
+
+            replace(start, start + patterns.getPattern(pattern).length(), replacements[pattern]);
+        }
+
+        return this;
+    }
+
+    default Builder deleteAll(char value) {
+        for (int position = lastIndexOf(value); position >= 0; position = lastIndexOf(value, position - 1)) {
+            deleteCharAt(position);
+        }
+
+        return this;
+    }
+
+    /**
+     * Delete the ranges from starts[i] to ends[i]. The ranges must be in ascending order and must not overlap.
+     */
+    default Builder deleteRanges(int[] starts, int[] ends) {
+        checkRanges(starts, ends, length());
+
+        for (int i = starts.length - 1; i >= 0; i--) {
+            if (starts[i] < ends[i]) {
+                delete(starts[i], ends[i]);
+            }
+        }
+
+        return this;
+    }
+
+    default void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        for (int i = srcBegin; i < srcEnd; i++) {
+            dst[dstBegin++] = charAt(i);
+        }
+    }
+
+    /**
+     * Make room for at least the given number of chars, so that appending up to it does not grow the builder again.
+     * Builders that have nothing to reserve ignore it.
+     */
+    default void ensureCapacity(int minimumCapacity) {
+    }
+
+    /**
+     * Copy of the chars between start and end. Builders that can track their changes return a view instead.
+     */
+    @Override
+    default CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        char[] chars = new char[end - start];
+        getChars(start, end, chars, 0);
+
+        return CharBuffer.wrap(chars);
+    }
+
+    /**
+     * Append the values in order, reserving room for all of them first. The builder itself, as one of the values,
+     * is appended with the content it had before the call.
+     */
+    default Builder appendAll(CharSequence... values) {
+        long length = length();
+        String self = null;
+
+        for (CharSequence value : values) {
+            if (value == this && self == null) {
+                self = toString();
+            }
+
+            length += value.length();
+        }
+
+        ensureCapacity(toCapacity(length));
+
+        for (CharSequence value : values) {
+            append(value == this ? self : value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Append the values in order, reserving room for all of them first. The values are iterated twice, and the
+     * builder itself, as one of the values, is appended with the content it had before the call.
+     */
+    default Builder appendAll(Iterable<? extends CharSequence> values) {
+        long length = length();
+        String self = null;
+
+        for (CharSequence value : values) {
+            if (value == this && self == null) {
+                self = toString();
+            }
+
+            length += value.length();
+        }
+
+        ensureCapacity(toCapacity(length));
+
+        for (CharSequence value : values) {
+            append(value == this ? self : value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Append the items separated by the separator, between the prefix and the suffix, the way a StringJoiner
+     * would. Room for the whole result is reserved first, and the items are iterated twice. The builder itself,
+     * in any of the arguments, is appended with the content it had before the call.
+     */
+    default Builder join(CharSequence separator, CharSequence prefix, CharSequence suffix,
+                         Iterable<? extends CharSequence> items) {
+        String self = separator == this || prefix == this || suffix == this ? toString() : null;
+        long length = length() + prefix.length() + suffix.length();
+        int count = 0;
+
+        for (CharSequence item : items) {
+            if (item == this && self == null) {
+                self = toString();
+            }
+
+            length += item.length();
+            count++;
+        }
+
+        if (count > 1) {
+            length += (long) separator.length() * (count - 1);
+        }
+
+        ensureCapacity(toCapacity(length));
+        append(prefix == this ? self : prefix);
+
+        boolean first = true;
+
+        for (CharSequence item : items) {
+            if (!first) {
+                append(separator == this ? self : separator);
+            }
+
+            append(item == this ? self : item);
+            first = false;
+        }
+
+        return append(suffix == this ? self : suffix);
+    }
+
+    /**
+     * Append the value count times, reserving room for all of them first.
+     */
+    default Builder appendRepeated(CharSequence value, int count) {
+        if (count < 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        if (value == this) {
+            value = toString();
+        }
+
+        ensureCapacity(toCapacity(length() + (long) value.length() * count));
+
+        for (int i = 0; i < count; i++) {
+            append(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Immutable copy of the content. Builders that can share their array return a snapshot instead, which is
+     * copied only if the builder changes it afterwards.
+     */
+    default CharSequence freeze() {
+        return toString();
+    }
+
+    /**
+     * Encode the content into the buffer, starting at its position.
+     *
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the content does not fit
+     */
+    default int encodeTo(ByteBuffer target, Charset charset) {
+        return Encoding.encode(this, null, charset, target);
+    }
+
+    /**
+     * Encode the content as UTF-8 and write it to the channel in chunks.
+     *
+     * @return the number of bytes written
+     */
+    default long writeTo(WritableByteChannel channel) throws IOException {
+        return writeTo(channel, StandardCharsets.UTF_8);
+    }
+
+    default long writeTo(WritableByteChannel channel, Charset charset) throws IOException {
+        return Encoding.write(this, null, charset, channel);
+    }
+
+    /**
+     * Encode the content as UTF-8 and write it to the stream in chunks.
+     *
+     * @return the number of bytes written
+     */
+    default long writeTo(OutputStream out) throws IOException {
+        return writeTo(out, StandardCharsets.UTF_8);
+    }
+
+    default long writeTo(OutputStream out, Charset charset) throws IOException {
+        return Encoding.write(this, null, charset, out);
+    }
+
+    private static int toCapacity(long length) {
+        if (length > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
+        }
+
+        return (int) length;
+    }
+
+    private static void checkRanges(int[] starts, int[] ends, int length) {
+        if (starts.length != ends.length) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        int previousEnd = 0;
+
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] < 0 || starts[i] > ends[i] || ends[i] > length) {
+                throw new IndexOutOfBoundsException("Index out of range.");
+            }
+
+            if (starts[i] < previousEnd) {
+                throw new InvalidParameterException("Invalid value.");
+            }
+
+            previousEnd = ends[i];
+        }
+    }
+
     // @TODO more..
 }
@@ -0,0 +1,244 @@
+package Coding.StringBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Process-wide counters of what StringBuilder spends its time on: resizes and the chars they copy, chars shifted
+ * by inserts and deletes, searches, and how much capacity is unused when toString() is called, as a histogram of
+ * length / capacity in tenths. Switched off by default, where every recording point costs one read of a
+ * boolean; switch it on with setEnabled, over JMX after registerMBean(), or with
+ * -DCoding.StringBuilder.metrics=true. While it is on, resizes and toString() calls are also emitted as JFR
+ * events, which a recording picks up when it enables Coding.StringBuilder.Resize or Coding.StringBuilder.ToString.
+ */
+public final class BuilderMetrics implements BuilderMetricsMBean {
+
+    /**
+     * Name the MBean is registered under.
+     */
+    public final static String OBJECT_NAME = "Coding.StringBuilder:type=BuilderMetrics";
+
+    private final static int HISTOGRAM_BUCKETS = 10;
+
+    private final static BuilderMetrics INSTANCE = new BuilderMetrics();
+
+    private static volatile boolean enabled = Boolean.getBoolean("Coding.StringBuilder.metrics");
+
+    private final static LongAdder resizes = new LongAdder();
+
+    private final static LongAdder charsCopied = new LongAdder();
+
+    private final static LongAdder charsShifted = new LongAdder();
+
+    private final static LongAdder searches = new LongAdder();
+
+    private final static LongAdder toStrings = new LongAdder();
+
+    private final static LongAdder wastedCapacity = new LongAdder();
+
+    private final static LongAdder[] utilization = new LongAdder[HISTOGRAM_BUCKETS];
+
+    static {
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            utilization[i] = new LongAdder();
+        }
+    }
+
+    private BuilderMetrics() {
+    }
+
+    public static BuilderMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the metrics with the platform MBean server, unless they already are.
+     *
+     * @return the name they are registered under
+     */
+    public static ObjectName registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            try {
+                server.registerMBean(INSTANCE, name);
+            } catch (InstanceAlreadyExistsException e) {
+                // registered before
+            }
+
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the metrics.", e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        BuilderMetrics.enabled = enabled;
+    }
+
+    /**
+     * Number of times an array was replaced by a larger or smaller one.
+     */
+    @Override
+    public long getResizeCount() {
+        return resizes.sum();
+    }
+
+    /**
+     * Chars copied from old arrays into new ones by resizes.
+     */
+    @Override
+    public long getCharsCopied() {
+        return charsCopied.sum();
+    }
+
+    /**
+     * Chars moved within an array to open or close a gap.
+     */
+    @Override
+    public long getCharsShifted() {
+        return charsShifted.sum();
+    }
+
+    @Override
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    @Override
+    public long getToStringCount() {
+        return toStrings.sum();
+    }
+
+    /**
+     * Sum of the unused capacity over all toString() calls.
+     */
+    @Override
+    public long getWastedCapacity() {
+        return wastedCapacity.sum();
+    }
+
+    /**
+     * toString() calls by length / capacity, where bucket i counts a ratio from i / 10 up to (i + 1) / 10,
+     * and the last bucket also counts full arrays.
+     */
+    @Override
+    public long[] getUtilizationHistogram() {
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = utilization[i].sum();
+        }
+
+        return histogram;
+    }
+
+    @Override
+    public void reset() {
+        resizes.reset();
+        charsCopied.reset();
+        charsShifted.reset();
+        searches.reset();
+        toStrings.reset();
+        wastedCapacity.reset();
+
+        for (LongAdder bucket : utilization) {
+            bucket.reset();
+        }
+    }
+
+    static void recordResize(int oldCapacity, int newCapacity, int length) {
+        if (enabled) {
+            onResize(oldCapacity, newCapacity, length);
+        }
+    }
+
+    static void recordShift(int chars) {
+        if (enabled && chars > 0) {
+            charsShifted.add(chars);
+        }
+    }
+
+    static void recordSearch() {
+        if (enabled) {
+            searches.increment();
+        }
+    }
+
+    static void recordToString(int length, int capacity) {
+        if (enabled) {
+            onToString(length, capacity);
+        }
+    }
+
+    private static void onResize(int oldCapacity, int newCapacity, int length) {
+        resizes.increment();
+        charsCopied.add(length);
+
+        ResizeEvent event = new ResizeEvent();
+
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.length = length;
+            event.commit();
+        }
+    }
+
+    private static void onToString(int length, int capacity) {
+        toStrings.increment();
+        wastedCapacity.add(capacity - length);
+        utilization[capacity == 0 ? HISTOGRAM_BUCKETS - 1
+                : (int) Math.min((long) length * HISTOGRAM_BUCKETS / capacity, HISTOGRAM_BUCKETS - 1)].increment();
+
+        ToStringEvent event = new ToStringEvent();
+
+        if (event.shouldCommit()) {
+            event.length = length;
+            event.capacity = capacity;
+            event.commit();
+        }
+    }
+
+    @Name("Coding.StringBuilder.Resize")
+    @Label("Builder Resize")
+    @Category({ "Coding", "StringBuilder" })
+    static final class ResizeEvent extends Event {
+
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Length")
+        int length;
+    }
+
+    @Name("Coding.StringBuilder.ToString")
+    @Label("Builder ToString")
+    @Category({ "Coding", "StringBuilder" })
+    static final class ToStringEvent extends Event {
+
+        @Label("Length")
+        int length;
+
+        @Label("Capacity")
+        int capacity;
+    }
+}
@@ -0,0 +1,27 @@
+package Coding.StringBuilder;
+
+/**
+ * Management interface of BuilderMetrics, registered by BuilderMetrics.registerMBean().
+ */
+public interface BuilderMetricsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getResizeCount();
+
+    long getCharsCopied();
+
+    long getCharsShifted();
+
+    long getSearchCount();
+
+    long getToStringCount();
+
+    long getWastedCapacity();
+
+    long[] getUtilizationHistogram();
+
+    void reset();
+}
@@ -0,0 +1,127 @@
+package Coding.StringBuilder;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class BuilderMetricsTest {
+
+    private final BuilderMetrics metrics = BuilderMetrics.getInstance();
+
+    @Before
+    public void setUp() {
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    public void testCounters() {
+        StringBuilder sb = new StringBuilder(4, new ExactFitGrowthPolicy());
+
+        sb.append("abcdef");
+        sb.insert(0, "xy");
+        sb.delete(0, 1);
+        sb.indexOf("cd");
+        sb.contains("z");
+
+        Assert.assertEquals(2, metrics.getResizeCount());
+        Assert.assertEquals(6, metrics.getCharsCopied());
+        Assert.assertEquals(6 + 7, metrics.getCharsShifted());
+        Assert.assertEquals(2, metrics.getSearchCount());
+
+        sb.toString();
+        new StringBuilder(100).append("short").toString();
+
+        long[] histogram = metrics.getUtilizationHistogram();
+        Assert.assertEquals(2, metrics.getToStringCount());
+        Assert.assertEquals(1 + 95, metrics.getWastedCapacity());
+        Assert.assertEquals(1, histogram[0]);
+        Assert.assertEquals(1, histogram[8]);
+    }
+
+    @Test
+    public void testReplaceWithinCapacityIsNoResize() {
+        StringBuilder sb = new StringBuilder(16, new ExactFitGrowthPolicy());
+        MultiPattern patterns = MultiPattern.compile("a");
+
+        sb.append("abca");
+        sb.replaceAll(patterns, new CharSequence[] { "xyz" });
+        Assert.assertEquals(0, metrics.getResizeCount());
+
+        sb.replaceAll(MultiPattern.compile("x"), new CharSequence[] { "0123456" });
+        Assert.assertEquals("0123456yzbc0123456yz", sb.toString());
+        Assert.assertEquals(1, metrics.getResizeCount());
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        metrics.setEnabled(false);
+
+        new StringBuilder(1).append("grows").insert(0, 'x').toString();
+
+        Assert.assertEquals(0, metrics.getResizeCount());
+        Assert.assertEquals(0, metrics.getCharsShifted());
+        Assert.assertEquals(0, metrics.getToStringCount());
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        ObjectName name = BuilderMetrics.registerMBean();
+        Assert.assertEquals(name, BuilderMetrics.registerMBean());
+
+        new StringBuilder(1).append("grows");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Assert.assertEquals(true, server.getAttribute(name, "Enabled"));
+        Assert.assertEquals(metrics.getResizeCount(), server.getAttribute(name, "ResizeCount"));
+        Assert.assertTrue(metrics.getResizeCount() > 0);
+
+        server.invoke(name, "reset", null, null);
+        Assert.assertEquals(0L, server.getAttribute(name, "ResizeCount"));
+    }
+
+    @Test
+    public void testJfrEvents() throws Exception {
+        Path file = Files.createTempFile("builder-metrics", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("Coding.StringBuilder.Resize");
+            recording.enable("Coding.StringBuilder.ToString");
+            recording.start();
+
+            new StringBuilder(2, new ExactFitGrowthPolicy()).append("abc").toString();
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent resize = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("Coding.StringBuilder.Resize"))
+                    .findFirst().orElseThrow();
+
+            Assert.assertEquals(2, resize.getInt("oldCapacity"));
+            Assert.assertEquals(3, resize.getInt("newCapacity"));
+            Assert.assertTrue(events.stream()
+                    .anyMatch(e -> e.getEventType().getName().equals("Coding.StringBuilder.ToString")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out StringBuilder instances for reuse, so that a builder that already grew to the size of the typical
+ * output does not have to grow again for the next one. Released builders are reset but keep their array,
+ * unless it is larger than the maximum retained capacity, in which case the builder is dropped.
+ * A builder must not be used after it has been released.
+ */
+public abstract class BuilderPool {
+
+    private final int initialCapacity;
+
+    private final int maxRetainedCapacity;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder discards = new LongAdder();
+
+    protected BuilderPool(int initialCapacity, int maxRetainedCapacity) {
+        if (initialCapacity < 0 || maxRetainedCapacity < initialCapacity) {
+            throw new InvalidParameterException("Invalid capacity.");
+        }
+
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    /**
+     * A pool keeping one builder per thread.
+     *
+     * @param initialCapacity
+     * @param maxRetainedCapacity
+     */
+    public static BuilderPool threadLocal(int initialCapacity, int maxRetainedCapacity) {
+        return new ThreadLocalBuilderPool(initialCapacity, maxRetainedCapacity);
+    }
+
+    /**
+     * A pool shared by all threads, split into stripes that threads pick by their id to spread contention.
+     *
+     * @param stripes
+     * @param buildersPerStripe
+     * @param initialCapacity
+     * @param maxRetainedCapacity
+     */
+    public static BuilderPool striped(int stripes, int buildersPerStripe, int initialCapacity, int maxRetainedCapacity) {
+        return new StripedBuilderPool(stripes, buildersPerStripe, initialCapacity, maxRetainedCapacity);
+    }
+
+    public StringBuilder borrow() {
+        StringBuilder builder = take();
+
+        if (builder == null) {
+            misses.increment();
+            return new StringBuilder(initialCapacity);
+        }
+
+        hits.increment();
+        return builder;
+    }
+
+    public void release(StringBuilder builder) {
+        if (builder.getCapacity() > maxRetainedCapacity || !offer(builder.reset())) {
+            discards.increment();
+        }
+    }
+
+    /**
+     * Number of borrows served with a pooled builder.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of borrows that had to create a new builder.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of released builders that were dropped, because they were too large or the pool was full.
+     */
+    public long getDiscardCount() {
+        return discards.sum();
+    }
+
+    /**
+     * @return a pooled builder, or null if there is none available to the calling thread
+     */
+    protected abstract StringBuilder take();
+
+    /**
+     * @return false if there is no room for the builder
+     */
+    protected abstract boolean offer(StringBuilder builder);
+}
@@ -0,0 +1,100 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class BuilderPoolTest {
+
+    @Test
+    public void testThreadLocalPoolReusesTheSameArray() {
+        BuilderPool pool = BuilderPool.threadLocal(16, 1024);
+
+        StringBuilder first = pool.borrow();
+        first.append("some fairly long content that makes the builder grow");
+        int grownCapacity = first.getCapacity();
+        pool.release(first);
+
+        StringBuilder second = pool.borrow();
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(0, second.length());
+        Assert.assertEquals(grownCapacity, second.getCapacity());
+        Assert.assertEquals(1, pool.getHitCount());
+        Assert.assertEquals(1, pool.getMissCount());
+    }
+
+    @Test
+    public void testOversizedBuildersAreNotRetained() {
+        BuilderPool pool = BuilderPool.threadLocal(16, 64);
+
+        StringBuilder builder = pool.borrow();
+        builder.append(new char[200]);
+        pool.release(builder);
+
+        Assert.assertNotSame(builder, pool.borrow());
+        Assert.assertEquals(1, pool.getDiscardCount());
+        Assert.assertEquals(2, pool.getMissCount());
+    }
+
+    @Test
+    public void testStripedPoolIsBoundedPerStripe() {
+        BuilderPool pool = BuilderPool.striped(1, 2, 16, 1024);
+
+        StringBuilder a = pool.borrow();
+        StringBuilder b = pool.borrow();
+        StringBuilder c = pool.borrow();
+        pool.release(a);
+        pool.release(b);
+        pool.release(c);
+
+        Assert.assertEquals(3, pool.getMissCount());
+        Assert.assertEquals(1, pool.getDiscardCount());
+
+        pool.borrow();
+        pool.borrow();
+        pool.borrow();
+
+        Assert.assertEquals(2, pool.getHitCount());
+        Assert.assertEquals(4, pool.getMissCount());
+    }
+
+    @Test
+    public void testStripedPoolSharedByThreads() throws Exception {
+        BuilderPool pool = BuilderPool.striped(8, 4, 16, 4096);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        StringBuilder builder = pool.borrow();
+                        Assert.assertEquals(0, builder.length());
+                        builder.append("request-").append(i);
+                        Assert.assertEquals("request-" + i, builder.toString());
+                        pool.release(builder);
+                    }
+                });
+            }
+
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(80_000, pool.getHitCount() + pool.getMissCount());
+        Assert.assertTrue(pool.getHitCount() > pool.getMissCount());
+    }
+
+    @Test(expected = java.security.InvalidParameterException.class)
+    public void testStripesMustBePowerOfTwo() {
+        BuilderPool.striped(3, 1, 16, 1024);
+    }
+}
@@ -0,0 +1,203 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Creates StringBuilders sized from what earlier builds at the same call site needed. For every key, usually a
+ * constant naming the call site, it keeps the final lengths of the last builds and starts new builders with a
+ * capacity whose growth threshold covers the 90th percentile of them, so most builds never resize while a rare
+ * outlier does not inflate every later builder. Memory is bounded by the number of keys, past which new keys
+ * get the default capacity and are not tracked. All methods can be called from any thread.
+ */
+public class CapacityHints {
+
+    private final static int DEFAULT_MAX_KEYS = 1024;
+
+    private final static int DEFAULT_CAPACITY = 10;
+
+    private final static int LOAD_FACTOR = 75;
+
+    private final static int WINDOW = 16;
+
+    private final static int PERCENTILE = 90;
+
+    /**
+     * Once the window is full, the capacity is recomputed on every fourth build only.
+     */
+    private final static int RECOMPUTE_MASK = 3;
+
+    private final int maxKeys;
+
+    private final int maxCapacity;
+
+    private final GrowthPolicy growthPolicy;
+
+    private final ConcurrentHashMap<Object, Samples> samples = new ConcurrentHashMap<>();
+
+    /**
+     * Keys reserved before they are added, so that concurrent records cannot add more than maxKeys.
+     */
+    private final AtomicInteger keyCount = new AtomicInteger();
+
+    public CapacityHints() {
+        this(DEFAULT_MAX_KEYS, GrowthPolicy.MAX_CAPACITY, new DoublingGrowthPolicy(LOAD_FACTOR));
+    }
+
+    /**
+     * @param maxKeys      the number of call sites tracked at most
+     * @param maxCapacity  the largest capacity a hint may ask for
+     * @param growthPolicy the policy of the created builders, which the hints are sized for
+     */
+    public CapacityHints(int maxKeys, int maxCapacity, GrowthPolicy growthPolicy) {
+        if (maxKeys < 0 || maxCapacity < 0 || maxCapacity > GrowthPolicy.MAX_CAPACITY || growthPolicy == null) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.maxKeys = maxKeys;
+        this.maxCapacity = maxCapacity;
+        this.growthPolicy = growthPolicy;
+    }
+
+    /**
+     * A builder with the capacity hinted for the key.
+     *
+     * @param key
+     */
+    public StringBuilder create(Object key) {
+        return new StringBuilder(getCapacity(key), growthPolicy);
+    }
+
+    /**
+     * The capacity builders for the key start with, the default one while nothing was recorded for it.
+     *
+     * @param key
+     */
+    public int getCapacity(Object key) {
+        Samples keySamples = samples.get(key);
+
+        return keySamples == null ? Math.min(DEFAULT_CAPACITY, maxCapacity) : keySamples.capacity;
+    }
+
+    /**
+     * Record the final length of a build at the key.
+     *
+     * @param key
+     * @param length
+     */
+    public void record(Object key, int length) {
+        if (length < 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        Samples keySamples = samples.get(key);
+
+        if (keySamples == null) {
+            if (keyCount.get() >= maxKeys) {
+                return;
+            }
+
+            keySamples = samples.computeIfAbsent(key, k -> reserveKey() ? new Samples() : null);
+
+            if (keySamples == null) {
+                return;
+            }
+        }
+
+        int count = keySamples.count.getAndIncrement() & Integer.MAX_VALUE;
+        keySamples.lengths.set(count & (WINDOW - 1), length);
+
+        if (count < WINDOW || (count & RECOMPUTE_MASK) == 0) {
+            keySamples.capacity = getCapacityFor(percentile(keySamples, Math.min(count + 1, WINDOW)));
+        }
+    }
+
+    /**
+     * Record the length of the builder at the key and return its content.
+     *
+     * @param key
+     * @param builder
+     */
+    public String finish(Object key, Builder builder) {
+        record(key, builder.length());
+
+        return builder.toString();
+    }
+
+    /**
+     * Number of keys with recorded builds.
+     */
+    public int size() {
+        return samples.size();
+    }
+
+    public void clear() {
+        for (Object key : samples.keySet()) {
+            if (samples.remove(key) != null) {
+                keyCount.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean reserveKey() {
+        if (keyCount.incrementAndGet() > maxKeys) {
+            keyCount.decrementAndGet();
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private static int percentile(Samples keySamples, int filled) {
+        int[] lengths = new int[filled];
+
+        for (int i = 0; i < filled; i++) {
+            lengths[i] = keySamples.lengths.get(i);
+        }
+
+        Arrays.sort(lengths);
+
+        return lengths[(filled * PERCENTILE + 99) / 100 - 1];
+    }
+
+    /**
+     * Smallest capacity whose threshold holds the length, found by a binary search since the threshold grows
+     * with the capacity.
+     */
+    private int getCapacityFor(int length) {
+        int low = length;
+        int high = maxCapacity;
+
+        if (low >= high || growthPolicy.getThreshold(high) < length) {
+            return high;
+        }
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (growthPolicy.getThreshold(middle) >= length) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * The last final lengths of one key, written round-robin, and the capacity derived from them.
+     */
+    private static final class Samples {
+
+        private final AtomicIntegerArray lengths = new AtomicIntegerArray(WINDOW);
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private volatile int capacity = DEFAULT_CAPACITY;
+    }
+}
@@ -0,0 +1,94 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CapacityHintsTest {
+
+    @Test
+    public void testLearnsTypicalLength() {
+        CapacityHints hints = new CapacityHints();
+
+        Assert.assertEquals(10, hints.getCapacity("report"));
+
+        for (int i = 0; i < 100; i++) {
+            StringBuilder sb = hints.create("report");
+            sb.append("x".repeat(i % 10 == 0 ? 100_000 : 900 + i % 10));
+            hints.finish("report", sb);
+        }
+
+        StringBuilder sb = hints.create("report");
+        int capacity = sb.getCapacity();
+        sb.append("x".repeat(909));
+
+        Assert.assertEquals(capacity, sb.getCapacity());
+        Assert.assertTrue(capacity < 2000);
+        Assert.assertEquals(10, hints.getCapacity("other"));
+    }
+
+    @Test
+    public void testFollowsChangingLength() {
+        CapacityHints hints = new CapacityHints(16, 1 << 20, new ExactFitGrowthPolicy());
+
+        for (int i = 0; i < 32; i++) {
+            hints.record("site", 100);
+        }
+        Assert.assertEquals(100, hints.getCapacity("site"));
+
+        for (int i = 0; i < 32; i++) {
+            hints.record("site", 5000);
+        }
+        Assert.assertEquals(5000, hints.getCapacity("site"));
+    }
+
+    @Test
+    public void testBounds() {
+        CapacityHints hints = new CapacityHints(2, 64, new DoublingGrowthPolicy(50));
+
+        hints.record("a", 10);
+        hints.record("b", 1_000);
+        hints.record("c", 10);
+
+        Assert.assertEquals(20, hints.getCapacity("a"));
+        Assert.assertEquals(64, hints.getCapacity("b"));
+        Assert.assertEquals(10, hints.getCapacity("c"));
+        Assert.assertEquals(2, hints.size());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        CapacityHints hints = new CapacityHints(8, GrowthPolicy.MAX_CAPACITY, new ExactFitGrowthPolicy());
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    hints.record("key" + (i % 16), 300);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(8, hints.size());
+
+        hints.clear();
+        hints.record("other", 40);
+        Assert.assertEquals(1, hints.size());
+        Assert.assertEquals(40, hints.getCapacity("other"));
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testNegativeLength() {
+        new CapacityHints().record("site", -1);
+    }
+}
@@ -0,0 +1,36 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Delegates growth to another policy, but never lets the array grow past a hard limit.
+ */
+public class CappedGrowthPolicy implements GrowthPolicy {
+
+    private final GrowthPolicy delegate;
+
+    private final int maxCapacity;
+
+    public CappedGrowthPolicy(GrowthPolicy delegate, int maxCapacity) {
+        if (delegate == null || maxCapacity <= 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.delegate = delegate;
+        this.maxCapacity = maxCapacity;
+    }
+
+    @Override
+    public int getThreshold(int capacity) {
+        return capacity >= maxCapacity ? capacity : delegate.getThreshold(capacity);
+    }
+
+    @Override
+    public int getNewCapacity(int currentCapacity, int requiredLength) {
+        if (requiredLength > maxCapacity) {
+            throw new IllegalStateException("Capacity limit of " + maxCapacity + " exceeded.");
+        }
+
+        return Math.max(requiredLength, Math.min(delegate.getNewCapacity(currentCapacity, requiredLength), maxCapacity));
+    }
+}
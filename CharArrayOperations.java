@@ -0,0 +1,43 @@
+package Coding.StringBuilder;
+
+/**
+ * Bulk operations over the used part of a char array. INSTANCE uses the Vector API when the
+ * jdk.incubator.vector module has been added to the VM (--add-modules jdk.incubator.vector), unless
+ * disabled with -DCoding.StringBuilder.vectorize=false, and the plain scalar loops otherwise.
+ */
+interface CharArrayOperations {
+
+    CharArrayOperations INSTANCE = load();
+
+    void reverse(char[] arr, int length);
+
+    /**
+     * Position of the first occurrence of the value at or after fromIndex, -1 if there is none.
+     */
+    int indexOf(char[] arr, int length, char value, int fromIndex);
+
+    /**
+     * Position of the last occurrence of the value at or before fromIndex, -1 if there is none.
+     */
+    int lastIndexOf(char[] arr, int length, char value, int fromIndex);
+
+    boolean isLatin1(char[] arr, int from, int to);
+
+    boolean isAscii(char[] arr, int from, int to);
+
+    private static CharArrayOperations load() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("Coding.StringBuilder.vectorize", "true"));
+
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (CharArrayOperations) Class.forName("Coding.StringBuilder.VectorCharArrayOperations")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall through to the scalar loops
+            }
+        }
+
+        return new ScalarCharArrayOperations();
+    }
+}
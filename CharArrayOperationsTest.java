@@ -0,0 +1,99 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+@RunWith(Parameterized.class)
+public class CharArrayOperationsTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> operations() {
+        return Arrays.asList(new Object[][] {
+                { "scalar", new ScalarCharArrayOperations() },
+                { "vector", new VectorCharArrayOperations() },
+        });
+    }
+
+    private final CharArrayOperations operations;
+
+    public CharArrayOperationsTest(String name, CharArrayOperations operations) {
+        this.operations = operations;
+    }
+
+    @Test
+    public void testReverseAllLengths() {
+        for (int length = 0; length < 300; length++) {
+            char[] arr = randomChars(length, length);
+            char[] expected = new java.lang.StringBuilder(new String(arr)).reverse().toString().toCharArray();
+
+            operations.reverse(arr, length);
+
+            Assert.assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    public void testReverseOnlyTouchesUsedPart() {
+        char[] arr = "abcdefXYZ".toCharArray();
+
+        operations.reverse(arr, 6);
+
+        Assert.assertEquals("fedcbaXYZ", new String(arr));
+    }
+
+    @Test
+    public void testIndexOfAndLastIndexOf() {
+        Random random = new Random(9);
+
+        for (int length = 0; length < 200; length++) {
+            String content = new String(randomChars(length, length));
+
+            for (int i = 0; i < 20; i++) {
+                char value = (char) ('a' + random.nextInt(6));
+                int fromIndex = random.nextInt(length + 4) - 2;
+
+                Assert.assertEquals(content.indexOf(value, fromIndex),
+                        operations.indexOf(content.toCharArray(), length, value, fromIndex));
+                Assert.assertEquals(content.lastIndexOf(value, fromIndex),
+                        operations.lastIndexOf(content.toCharArray(), length, value, fromIndex));
+            }
+        }
+    }
+
+    @Test
+    public void testIsLatin1AndIsAscii() {
+        char[] arr = new char[100];
+        Arrays.fill(arr, 'a');
+
+        Assert.assertTrue(operations.isAscii(arr, 0, 100));
+        Assert.assertTrue(operations.isLatin1(arr, 0, 100));
+
+        arr[70] = '\u00e9';
+
+        Assert.assertFalse(operations.isAscii(arr, 0, 100));
+        Assert.assertTrue(operations.isAscii(arr, 0, 70));
+        Assert.assertTrue(operations.isLatin1(arr, 0, 100));
+
+        arr[97] = '\u20ac';
+
+        Assert.assertFalse(operations.isLatin1(arr, 0, 100));
+        Assert.assertTrue(operations.isLatin1(arr, 0, 97));
+    }
+
+    private static char[] randomChars(int length, long seed) {
+        Random random = new Random(seed);
+        char[] arr = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            arr[i] = (char) ('a' + random.nextInt(6));
+        }
+
+        return arr;
+    }
+}
@@ -0,0 +1,508 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Builder that stores its content in fixed-size chunks instead of one array. Growing only adds chunks,
+ * so chars that were already appended are never copied again, however large the builder gets. Chunk sizes are
+ * a power of two, which turns finding the chunk of a position into a shift and a mask.
+ * Inserts and deletes in the middle still shift the content after them, chunk by chunk.
+ */
+public class ChunkedBuilder implements Builder {
+
+    private final static int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final static int DEFAULT_CHUNK_COUNT = 4;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
+    private final int chunkShift;
+
+    private final int chunkMask;
+
+    private char[][] chunks;
+
+    private int chunkCount = 0;
+
+    private final char[] digits = new char[20];
+
+    private int index = 0;
+
+    public ChunkedBuilder() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize a power of two
+     */
+    public ChunkedBuilder(int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new InvalidParameterException("Chunk size must be a power of two.");
+        }
+
+        chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        chunkMask = chunkSize - 1;
+        chunks = new char[DEFAULT_CHUNK_COUNT][];
+    }
+
+    public ChunkedBuilder(String value) {
+        this();
+
+        if (value == null || value.isEmpty()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        append(value);
+    }
+
+    @Override
+    public int length() {
+        return index;
+    }
+
+    @Override
+    public char charAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return chunks[position >>> chunkShift][position & chunkMask];
+    }
+
+    @Override
+    public int getCapacity() {
+        return chunkCount << chunkShift;
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return delete(position, position + 1);
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        if ((start < 0 || end < 0) || (start >= index) || (end > index) || (start > end)) {
+            throw new IndexOutOfBoundsException("Index out ouf range.");
+        }
+
+        move(end, start, index - end);
+        index -= end - start;
+
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        for (int i = 0, j = index - 1; i < j; i++, j--) {
+            char[] left = chunks[i >>> chunkShift];
+            char[] right = chunks[j >>> chunkShift];
+            char tmp = left[i & chunkMask];
+
+            left[i & chunkMask] = right[j & chunkMask];
+            right[j & chunkMask] = tmp;
+        }
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return lastIndexOf(value, index);
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.min(fromIndex, index - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        for (int i = lastIndexOf(first, start); i >= 0; i = lastIndexOf(first, i - 1)) {
+            if (regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return indexOf(value, 0);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.max(fromIndex, 0);
+
+        if (start >= index) {
+            return valueLength == 0 ? index : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        int last = index - valueLength;
+        for (int i = indexOf(first, start); i >= 0 && i <= last; i = indexOf(first, i + 1)) {
+            if (regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Scan chunk by chunk, each with the vectorized single char search.
+     */
+    @Override
+    public int indexOf(char value, int fromIndex) {
+        for (int position = Math.max(fromIndex, 0); position < index; position = (position | chunkMask) + 1) {
+            int chunkStart = position & ~chunkMask;
+            int limit = Math.min(index - chunkStart, chunkMask + 1);
+            int found = CharArrayOperations.INSTANCE.indexOf(chunks[position >>> chunkShift], limit, value,
+                    position & chunkMask);
+
+            if (found >= 0) {
+                return chunkStart + found;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(char value, int fromIndex) {
+        for (int position = Math.min(fromIndex, index - 1); position >= 0; position = (position & ~chunkMask) - 1) {
+            int chunkStart = position & ~chunkMask;
+            int found = CharArrayOperations.INSTANCE.lastIndexOf(chunks[position >>> chunkShift], chunkMask + 1, value,
+                    position & chunkMask);
+
+            if (found >= 0) {
+                return chunkStart + found;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Builder append(char value) {
+        ensureCapacity(index + 1);
+
+        chunks[index >>> chunkShift][index & chunkMask] = value;
+        index++;
+
+        return this;
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        return append(charSequence, index, charSequence.length);
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        openGap(offset, length);
+
+        put(offset, charSequence, 0, length);
+        index += length;
+
+        return this;
+    }
+
+    @Override
+    public Builder append(String value) {
+        return append((CharSequence) value, 0, value.length());
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return putCharSequence(index, value, start, end);
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(int value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(long value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(float value) {
+        return insert(index, String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(double value) {
+        return insert(index, String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(Object object) {
+        return insert(index, object.toString());
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        openGap(offset, 1);
+
+        chunks[offset >>> chunkShift][offset & chunkMask] = value;
+        index++;
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        return append(charSequence, offset, charSequence.length);
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        return insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        if (value == this) {
+            value = this.toString();
+        }
+
+        return putCharSequence(offset, value, 0, value.length());
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        int length = Digits.getDigitCount(value);
+
+        Digits.getChars(value, length, digits);
+
+        return append(digits, offset, length);
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        int length = Digits.getDigitCount(value);
+
+        Digits.getChars(value, length, digits);
+
+        return append(digits, offset, length);
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        return insert(offset, value ? TRUE_CHARS : FALSE_CHARS);
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    @Override
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        for (int position = srcBegin; position < srcEnd; ) {
+            int count = Math.min(srcEnd - position, chunkMask + 1 - (position & chunkMask));
+
+            System.arraycopy(chunks[position >>> chunkShift], position & chunkMask, dst, dstBegin, count);
+            position += count;
+            dstBegin += count;
+        }
+    }
+
+    /**
+     * Copy every chunk once into the array of the result.
+     */
+    @Override
+    public String toString() {
+        char[] result = new char[index];
+
+        getChars(0, index, result, 0);
+
+        return new String(result);
+    }
+
+    private Builder putCharSequence(int offset, CharSequence value, int start, int end) {
+        int length = end - start;
+
+        openGap(offset, length);
+
+        for (int position = offset, i = start; i < end; ) {
+            char[] chunk = chunks[position >>> chunkShift];
+            int chunkOffset = position & chunkMask;
+            int count = Math.min(end - i, chunk.length - chunkOffset);
+
+            if (value instanceof String) {
+                ((String) value).getChars(i, i + count, chunk, chunkOffset);
+            } else if (value instanceof Builder) {
+                ((Builder) value).getChars(i, i + count, chunk, chunkOffset);
+            } else {
+                for (int j = 0; j < count; j++) {
+                    chunk[chunkOffset + j] = value.charAt(i + j);
+                }
+            }
+
+            position += count;
+            i += count;
+        }
+
+        index += length;
+
+        return this;
+    }
+
+    /**
+     * Copy chars of the array into the chunks, starting at the given position.
+     */
+    private void put(int position, char[] source, int sourceOffset, int length) {
+        while (length > 0) {
+            int count = Math.min(length, chunkMask + 1 - (position & chunkMask));
+
+            System.arraycopy(source, sourceOffset, chunks[position >>> chunkShift], position & chunkMask, count);
+            position += count;
+            sourceOffset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Make room for length chars at the offset, shifting the content after it to the right.
+     */
+    private void openGap(int offset, int length) {
+        if (offset < 0 || offset > index) {
+            throw new InvalidParameterException("Index out of range.");
+        }
+
+        ensureCapacity(index + length);
+
+        if (offset < index) {
+            move(offset, offset + length, index - offset);
+        }
+    }
+
+    /**
+     * Copy length chars from one position to another across chunk boundaries, correct for overlapping ranges:
+     * to the right it copies back to front, to the left front to back.
+     */
+    private void move(int from, int to, int length) {
+        if (length == 0 || from == to) {
+            return;
+        }
+
+        if (to > from) {
+            int sourceEnd = from + length;
+            int targetEnd = to + length;
+
+            while (sourceEnd > from) {
+                int sourceCount = ((sourceEnd - 1) & chunkMask) + 1;
+                int targetCount = ((targetEnd - 1) & chunkMask) + 1;
+                int count = Math.min(Math.min(sourceCount, targetCount), sourceEnd - from);
+
+                sourceEnd -= count;
+                targetEnd -= count;
+                System.arraycopy(chunks[sourceEnd >>> chunkShift], sourceEnd & chunkMask,
+                        chunks[targetEnd >>> chunkShift], targetEnd & chunkMask, count);
+            }
+        } else {
+            int chunkSize = chunkMask + 1;
+
+            for (int end = from + length; from < end; ) {
+                int sourceCount = chunkSize - (from & chunkMask);
+                int targetCount = chunkSize - (to & chunkMask);
+                int count = Math.min(Math.min(sourceCount, targetCount), end - from);
+
+                System.arraycopy(chunks[from >>> chunkShift], from & chunkMask,
+                        chunks[to >>> chunkShift], to & chunkMask, count);
+                from += count;
+                to += count;
+            }
+        }
+    }
+
+    /**
+     * Add chunks until the required length fits. Only the directory of chunk references is ever copied.
+     */
+    @Override
+    public void ensureCapacity(int requiredLength) {
+        if (requiredLength < 0 || requiredLength > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
+        }
+
+        int requiredChunks = (int) (((long) requiredLength + chunkMask) >>> chunkShift);
+
+        if (requiredChunks <= chunkCount) {
+            return;
+        }
+
+        if (requiredChunks > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(requiredChunks, chunks.length * 2));
+        }
+
+        while (chunkCount < requiredChunks) {
+            chunks[chunkCount++] = new char[chunkMask + 1];
+        }
+    }
+
+    private boolean regionMatches(int position, String value) {
+        for (int j = 1; j < value.length(); j++) {
+            int i = position + j;
+
+            if (chunks[i >>> chunkShift][i & chunkMask] != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void checkPositionOutOfBounds(int position) {
+        if (position < 0 || position >= index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+    }
+}
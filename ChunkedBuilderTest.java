@@ -0,0 +1,114 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.security.InvalidParameterException;
+import java.util.List;
+
+public class ChunkedBuilderTest {
+
+    private final static int CHUNK_SIZE = 4;
+
+    private ChunkedBuilder cb;
+
+    @Before
+    public void before() {
+        cb = new ChunkedBuilder(CHUNK_SIZE);
+    }
+
+    @Test
+    public void testSizeAfterInit() {
+        Assert.assertEquals(0, cb.getCapacity());
+        Assert.assertEquals(0, cb.length());
+        Assert.assertEquals("", cb.toString());
+    }
+
+    @Test
+    public void testAppendValuesAcrossChunks() {
+        cb.append("abc").append('d').append(12).append(-34L).append(true).append(1.5).append(new char[] { 'x' });
+
+        Assert.assertEquals("abcd12-34true1.5x", cb.toString());
+        Assert.assertEquals(17, cb.length());
+        Assert.assertEquals(20, cb.getCapacity());
+        Assert.assertEquals('1', cb.charAt(4));
+        Assert.assertEquals('x', cb.charAt(16));
+    }
+
+    @Test
+    public void testGrowingKeepsExistingChunks() {
+        cb.append("abcd");
+        char first = cb.charAt(0);
+
+        for (int i = 0; i < 1000; i++) {
+            cb.append("efgh");
+        }
+
+        Assert.assertEquals(first, cb.charAt(0));
+        Assert.assertEquals(4004, cb.length());
+        Assert.assertEquals(4004, cb.getCapacity());
+    }
+
+    @Test
+    public void testInsertAndDeleteShiftAcrossChunks() {
+        cb.append("HelloWorld");
+        cb.insert(5, ", dear ");
+        cb.insert(0, '>');
+
+        Assert.assertEquals(">Hello, dear World", cb.toString());
+
+        cb.delete(6, 13).deleteCharAt(0);
+
+        Assert.assertEquals("HelloWorld", cb.toString());
+    }
+
+    @Test
+    public void testSearchAcrossChunks() {
+        cb.append("abcabcabcXYZabc");
+
+        Assert.assertEquals(9, cb.indexOf("XYZ"));
+        Assert.assertEquals(12, cb.lastIndexOf("abc"));
+        Assert.assertEquals(6, cb.lastIndexOf("abc", 11));
+        Assert.assertEquals(10, cb.indexOf('Y'));
+        Assert.assertEquals(11, cb.lastIndexOf('Z'));
+        Assert.assertEquals(-1, cb.indexOf('q'));
+        Assert.assertEquals(4, cb.count("abc"));
+    }
+
+    @Test
+    public void testReverse() {
+        cb.append("0123456789");
+
+        Assert.assertEquals("9876543210", cb.reverse().toString());
+    }
+
+    @Test
+    public void testGetChars() {
+        cb.append("0123456789");
+        char[] dst = new char[6];
+
+        cb.getChars(2, 8, dst, 0);
+
+        Assert.assertArrayEquals("234567".toCharArray(), dst);
+    }
+
+    @Test
+    public void testJoinOfItself() {
+        cb = new ChunkedBuilder(4);
+        cb.append("ab").join(cb, cb, "", List.of("1", "2"));
+
+        Assert.assertEquals("abab1ab2", cb.toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testChunkSizeMustBePowerOfTwo() {
+        new ChunkedBuilder(6);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetElementOutOfRange() {
+        cb.append("Test");
+        cb.charAt(4);
+    }
+}
@@ -0,0 +1,608 @@
+package Coding.StringBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+
+/**
+ * Builder that stores its content as Latin-1 bytes, one byte per char, for as long as every char fits in a byte.
+ * The first char above 0xFF inflates the storage to UTF-16 chars, and it stays UTF-16 from then on.
+ * Each operation dispatches on the coder once and then runs a loop specialised for the current storage.
+ */
+public class CompactStringBuilder implements Builder {
+
+    private final static int DEFAULT_SIZE = 10;
+
+    private final static int LOAD_FACTOR = 75;
+
+    private final static byte LATIN1 = 0;
+
+    private final static byte UTF16 = 1;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
+    private byte[] bytes;
+
+    private char[] chars;
+
+    private byte coder = LATIN1;
+
+    private final GrowthPolicy growthPolicy;
+
+    private int threshold;
+
+    private int index = 0;
+
+    public CompactStringBuilder() {
+        this(DEFAULT_SIZE);
+    }
+
+    public CompactStringBuilder(int capacity) {
+        this(capacity, new DoublingGrowthPolicy(LOAD_FACTOR));
+    }
+
+    public CompactStringBuilder(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0 || growthPolicy == null) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.growthPolicy = growthPolicy;
+        bytes = new byte[capacity];
+        threshold = growthPolicy.getThreshold(capacity);
+    }
+
+    public CompactStringBuilder(String value) {
+        this();
+
+        if (value == null || value.isEmpty()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        append(value);
+    }
+
+    /**
+     * @return true while the content is stored one byte per char
+     */
+    public boolean isLatin1() {
+        return coder == LATIN1;
+    }
+
+    @Override
+    public int length() {
+        return index;
+    }
+
+    @Override
+    public char charAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        if (coder == LATIN1) {
+            return (char) (bytes[position] & 0xFF);
+        }
+
+        return chars[position];
+    }
+
+    @Override
+    public int getCapacity() {
+        return coder == LATIN1 ? bytes.length : chars.length;
+    }
+
+    /**
+     * Grow once, if needed, so that the content can reach the given length without growing again.
+     */
+    @Override
+    public void ensureCapacity(int minimumCapacity) {
+        if (minimumCapacity > threshold) {
+            grow(minimumCapacity);
+        }
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return delete(position, position + 1);
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        if ((start < 0 || end < 0) || (start >= index) || (end > index) || (start > end)) {
+            throw new IndexOutOfBoundsException("Index out ouf range.");
+        }
+
+        if (end != index) {
+            if (coder == LATIN1) {
+                System.arraycopy(bytes, end, bytes, start, index - end);
+            } else {
+                System.arraycopy(chars, end, chars, start, index - end);
+            }
+        }
+
+        updateIndex(index - (end - start));
+
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        int middleIndex = index / 2;
+
+        int oppositeIndex;
+        if (coder == LATIN1) {
+            for (int i = 0; i < middleIndex; i++) {
+                byte tmp = bytes[i];
+                oppositeIndex = index - 1 - i;
+                bytes[i] = bytes[oppositeIndex];
+                bytes[oppositeIndex] = tmp;
+            }
+        } else {
+            for (int i = 0; i < middleIndex; i++) {
+                char tmp = chars[i];
+                oppositeIndex = index - 1 - i;
+                chars[i] = chars[oppositeIndex];
+                chars[oppositeIndex] = tmp;
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return lastIndexOf(value, index);
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.min(fromIndex, index - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        if (coder == LATIN1) {
+            return canEncodeLatin1(value, 0, valueLength) ? lastIndexOfLatin1(value, start) : -1;
+        }
+
+        return lastIndexOfUtf16(value, start);
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return indexOf(value, 0);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.max(fromIndex, 0);
+
+        if (start >= index) {
+            return valueLength == 0 ? index : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        if (coder == LATIN1) {
+            return canEncodeLatin1(value, 0, valueLength) ? indexOfLatin1(value, start) : -1;
+        }
+
+        return indexOfUtf16(value, start);
+    }
+
+    @Override
+    public Builder append(char value) {
+        if (value > 0xFF && coder == LATIN1) {
+            inflate();
+        }
+
+        ensureEnoughSpace(1);
+
+        if (coder == LATIN1) {
+            bytes[index] = (byte) value;
+        } else {
+            chars[index] = value;
+        }
+
+        updateIndex(index + 1);
+
+        return this;
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        return append(charSequence, index, charSequence.length);
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        checkIndexExceeded(offset);
+
+        if (coder == LATIN1 && !canEncodeLatin1(charSequence, length)) {
+            inflate();
+        }
+
+        ensureEnoughSpace(length);
+        openGap(offset, length);
+
+        if (coder == LATIN1) {
+            for (int i = 0; i < length; i++) {
+                bytes[offset + i] = (byte) charSequence[i];
+            }
+        } else {
+            System.arraycopy(charSequence, 0, chars, offset, length);
+        }
+
+        updateIndex(index + length);
+
+        return this;
+    }
+
+    @Override
+    public Builder append(String value) {
+        return insert(index, (CharSequence) value);
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return putCharSequence(index, value, start, end);
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        char[] charArrRepresentation = value ? TRUE_CHARS : FALSE_CHARS;
+        return append(charArrRepresentation, index, charArrRepresentation.length);
+    }
+
+    @Override
+    public Builder append(int value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(long value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(float value) {
+        return append(String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(double value) {
+        return append(String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(Object object) {
+        return append(object.toString());
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        checkIndexExceeded(offset);
+
+        if (value > 0xFF && coder == LATIN1) {
+            inflate();
+        }
+
+        ensureEnoughSpace(1);
+        openGap(offset, 1);
+
+        if (coder == LATIN1) {
+            bytes[offset] = (byte) value;
+        } else {
+            chars[offset] = value;
+        }
+
+        updateIndex(index + 1);
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        return append(charSequence, offset, charSequence.length);
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        return insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        if (value == this) {
+            value = this.toString();
+        }
+
+        return putCharSequence(offset, value, 0, value.length());
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        checkIndexExceeded(offset);
+
+        int length = Digits.getDigitCount(value);
+
+        ensureEnoughSpace(length);
+        openGap(offset, length);
+
+        if (coder == LATIN1) {
+            Digits.getBytes(value, offset + length, bytes);
+        } else {
+            Digits.getChars(value, offset + length, chars);
+        }
+
+        updateIndex(index + length);
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        checkIndexExceeded(offset);
+
+        int length = Digits.getDigitCount(value);
+
+        ensureEnoughSpace(length);
+        openGap(offset, length);
+
+        if (coder == LATIN1) {
+            Digits.getBytes(value, offset + length, bytes);
+        } else {
+            Digits.getChars(value, offset + length, chars);
+        }
+
+        updateIndex(index + length);
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        char[] boolAsCharArr = value ? TRUE_CHARS : FALSE_CHARS;
+        return append(boolAsCharArr, offset, boolAsCharArr.length);
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    @Override
+    public String toString() {
+        if (coder == LATIN1) {
+            return new String(bytes, 0, index, StandardCharsets.ISO_8859_1);
+        }
+
+        return String.valueOf(chars, 0, index);
+    }
+
+    private Builder putCharSequence(int offset, CharSequence value, int start, int end) {
+        checkIndexExceeded(offset);
+
+        int length = end - start;
+
+        if (coder == LATIN1 && !canEncodeLatin1(value, start, end)) {
+            inflate();
+        }
+
+        ensureEnoughSpace(length);
+        openGap(offset, length);
+
+        if (coder == LATIN1) {
+            for (int i = start; i < end; i++) {
+                bytes[offset++] = (byte) value.charAt(i);
+            }
+        } else if (value instanceof String) {
+            ((String) value).getChars(start, end, chars, offset);
+        } else {
+            for (int i = start; i < end; i++) {
+                chars[offset++] = value.charAt(i);
+            }
+        }
+
+        updateIndex(index + length);
+
+        return this;
+    }
+
+    private int indexOfLatin1(String value, int start) {
+        byte first = (byte) value.charAt(0);
+        int valueLength = value.length();
+        int last = index - valueLength;
+
+        for (int i = start; i <= last; i++) {
+            if (bytes[i] == first && regionMatchesLatin1(i, value, valueLength)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int lastIndexOfLatin1(String value, int start) {
+        byte first = (byte) value.charAt(0);
+        int valueLength = value.length();
+
+        for (int i = start; i >= 0; i--) {
+            if (bytes[i] == first && regionMatchesLatin1(i, value, valueLength)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean regionMatchesLatin1(int position, String value, int valueLength) {
+        for (int j = 1; j < valueLength; j++) {
+            if ((bytes[position + j] & 0xFF) != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int indexOfUtf16(String value, int start) {
+        char first = value.charAt(0);
+        int valueLength = value.length();
+        int last = index - valueLength;
+
+        for (int i = start; i <= last; i++) {
+            if (chars[i] == first && regionMatchesUtf16(i, value, valueLength)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int lastIndexOfUtf16(String value, int start) {
+        char first = value.charAt(0);
+        int valueLength = value.length();
+
+        for (int i = start; i >= 0; i--) {
+            if (chars[i] == first && regionMatchesUtf16(i, value, valueLength)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean regionMatchesUtf16(int position, String value, int valueLength) {
+        for (int j = 1; j < valueLength; j++) {
+            if (chars[position + j] != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean canEncodeLatin1(CharSequence value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean canEncodeLatin1(char[] value, int length) {
+        return CharArrayOperations.INSTANCE.isLatin1(value, 0, length);
+    }
+
+    /**
+     * Switch the storage to UTF-16, widening the bytes that are in use into a char array of the same capacity.
+     */
+    private void inflate() {
+        char[] inflated = new char[bytes.length];
+
+        for (int i = 0; i < index; i++) {
+            inflated[i] = (char) (bytes[i] & 0xFF);
+        }
+
+        chars = inflated;
+        bytes = null;
+        coder = UTF16;
+    }
+
+    private void ensureEnoughSpace(int length) {
+        int requiredLength = index + length;
+
+        if (requiredLength > threshold || requiredLength < 0) {
+            grow(requiredLength);
+        }
+    }
+
+    private void grow(int requiredLength) {
+        if (requiredLength < 0 || requiredLength > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
+        }
+
+        int capacity = getCapacity();
+        int size = growthPolicy.getNewCapacity(capacity, requiredLength);
+
+        if (size < requiredLength) {
+            throw new IllegalStateException("Growth policy returned a capacity below the required length.");
+        }
+
+        if (size != capacity) {
+            resizeArrayAndCopyContent(size);
+        }
+    }
+
+    private void resizeArrayAndCopyContent(int size) {
+        if (coder == LATIN1) {
+            byte[] resizedArr = new byte[size];
+            System.arraycopy(bytes, 0, resizedArr, 0, index);
+            bytes = resizedArr;
+        } else {
+            char[] resizedArr = new char[size];
+            System.arraycopy(chars, 0, resizedArr, 0, index);
+            chars = resizedArr;
+        }
+
+        threshold = growthPolicy.getThreshold(size);
+    }
+
+    private void openGap(int offset, int length) {
+        if (offset < index) {
+            if (coder == LATIN1) {
+                System.arraycopy(bytes, offset, bytes, offset + length, index - offset);
+            } else {
+                System.arraycopy(chars, offset, chars, offset + length, index - offset);
+            }
+        }
+    }
+
+    private void checkIndexExceeded(int offset) {
+        if (offset < 0 || offset > index) {
+            throw new InvalidParameterException("Index out of range.");
+        }
+    }
+
+    private void checkPositionOutOfBounds(int position) {
+        if (position < 0 || position >= index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+    }
+
+    private void updateIndex(int size) {
+        index = size;
+    }
+}
@@ -0,0 +1,161 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class CompactStringBuilderTest {
+
+    private final static int DEFAULT_SPACE = 10;
+
+    private CompactStringBuilder sb;
+
+    @Before
+    public void before() {
+        sb = new CompactStringBuilder();
+    }
+
+    @Test
+    public void testSizeAfterInitWithDefaultConstruct() {
+        Assert.assertEquals(DEFAULT_SPACE, sb.getCapacity());
+        Assert.assertEquals(0, sb.length());
+        Assert.assertTrue(sb.isLatin1());
+    }
+
+    @Test
+    public void testLatin1ContentStaysCompact() {
+        sb.append("Caf\u00e9 ").append(42).append(' ').append(-7L).append(true).append(1.5);
+
+        Assert.assertTrue(sb.isLatin1());
+        Assert.assertEquals("Caf\u00e9 42 -7true1.5", sb.toString());
+        Assert.assertEquals('\u00e9', sb.charAt(3));
+    }
+
+    @Test
+    public void testAppendInflatesToUtf16() {
+        sb.append("abc");
+        sb.append('\u20ac');
+
+        Assert.assertFalse(sb.isLatin1());
+        Assert.assertEquals("abc\u20ac", sb.toString());
+        Assert.assertEquals('\u20ac', sb.charAt(3));
+
+        sb.append("def").append(12);
+
+        Assert.assertEquals("abc\u20acdef12", sb.toString());
+    }
+
+    @Test
+    public void testInsertInflatesToUtf16() {
+        sb.append("HelloWorld");
+        sb.insert(5, "\u0416");
+
+        Assert.assertFalse(sb.isLatin1());
+        Assert.assertEquals(11, sb.length());
+        Assert.assertEquals("Hello\u0416World", sb.toString());
+
+        sb.insert(0, new char[] { '[', ']' });
+
+        Assert.assertEquals("[]Hello\u0416World", sb.toString());
+    }
+
+    @Test
+    public void testGrowth() {
+        sb.append("DDDDDDDD");
+
+        Assert.assertEquals(20, sb.getCapacity());
+
+        sb.append('\u03a9');
+
+        Assert.assertEquals(20, sb.getCapacity());
+        Assert.assertEquals("DDDDDDDD\u03a9", sb.toString());
+    }
+
+    @Test
+    public void testDeleteInBothEncodings() {
+        sb.append("TestTestTest");
+        sb.delete(3, 10);
+        sb.deleteCharAt(0);
+
+        Assert.assertEquals("esst", sb.toString());
+
+        sb.append('\u03a9');
+        sb.delete(1, 3);
+
+        Assert.assertEquals("et\u03a9", sb.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDeleteOutOfRange() {
+        sb.append("Test");
+        sb.delete(0, 5);
+    }
+
+    @Test
+    public void testReverseInBothEncodings() {
+        sb.append("Dummy");
+
+        Assert.assertEquals("ymmuD", sb.reverse().toString());
+
+        sb.append('\u03a9');
+
+        Assert.assertEquals("\u03a9Dummy", sb.reverse().toString());
+    }
+
+    @Test
+    public void testIndexOfInBothEncodings() {
+        sb.append("HelloHello");
+
+        Assert.assertEquals(2, sb.indexOf("llo"));
+        Assert.assertEquals(5, sb.indexOf("H", 1));
+        Assert.assertEquals(7, sb.lastIndexOf("llo"));
+        Assert.assertEquals(2, sb.lastIndexOf("llo", 6));
+        Assert.assertEquals(-1, sb.indexOf("\u03a9"));
+
+        sb.append('\u03a9').append("Hello");
+
+        Assert.assertEquals(10, sb.indexOf("\u03a9"));
+        Assert.assertEquals(9, sb.indexOf("o\u03a9H"));
+        Assert.assertEquals(11, sb.indexOf("Hello", 6));
+        Assert.assertEquals(14, sb.lastIndexOf("lo"));
+        Assert.assertEquals(-1, sb.indexOf("xyz"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetElementOutOfRange() {
+        sb.append("A");
+        sb.charAt(1);
+    }
+
+    @Test
+    public void testBulkAppendsGrowOnce() {
+        int[] grows = new int[1];
+        CompactStringBuilder builder = new CompactStringBuilder(0, new GrowthPolicy() {
+            @Override
+            public int getThreshold(int capacity) {
+                return capacity;
+            }
+
+            @Override
+            public int getNewCapacity(int currentCapacity, int requiredLength) {
+                grows[0]++;
+                return requiredLength;
+            }
+        });
+
+        builder.appendAll("ab", "cd", "ef");
+        Assert.assertEquals(1, grows[0]);
+
+        builder.appendAll(List.of("gh", "ij"));
+        Assert.assertEquals(2, grows[0]);
+
+        builder.join(",", "[", "]", List.of("k", "l", "m"));
+        Assert.assertEquals(3, grows[0]);
+
+        builder.appendRepeated("no", 4);
+        Assert.assertEquals(4, grows[0]);
+        Assert.assertEquals("abcdefghij[k,l,m]nononono", builder.toString());
+    }
+}
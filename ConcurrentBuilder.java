@@ -0,0 +1,299 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only builder shared by many threads. Every thread appends to a stripe of its own without any locking,
+ * and the stripes are merged by toString() and drainTo(). The merge order is either THREAD, where the content of
+ * each thread stays together and threads follow the order of their first append, or TICKET, where every append
+ * takes a ticket from a shared counter and the merge follows the tickets across threads.
+ * Merging reads the stripes without synchronizing with the appending threads, so length(), toString() and
+ * drainTo() must only be called once the appends they should see have completed and are visible to the caller,
+ * for example after joining the appending threads or waiting on their futures.
+ */
+public class ConcurrentBuilder {
+
+    public enum MergeOrder {
+        THREAD,
+        TICKET
+    }
+
+    private final static int DEFAULT_STRIPE_CAPACITY = 256;
+
+    private final static int DEFAULT_FRAGMENT_CAPACITY = 16;
+
+    private final static int CHUNK_SIZE = 4096;
+
+    private final MergeOrder mergeOrder;
+
+    private final int stripeCapacity;
+
+    private final AtomicLong tickets = new AtomicLong();
+
+    private final List<Stripe> stripes = new CopyOnWriteArrayList<>();
+
+    private final ThreadLocal<Stripe> localStripe = ThreadLocal.withInitial(this::register);
+
+    private long firstTicket = 0;
+
+    public ConcurrentBuilder() {
+        this(MergeOrder.THREAD);
+    }
+
+    public ConcurrentBuilder(MergeOrder mergeOrder) {
+        this(mergeOrder, DEFAULT_STRIPE_CAPACITY);
+    }
+
+    public ConcurrentBuilder(MergeOrder mergeOrder, int stripeCapacity) {
+        if (mergeOrder == null || stripeCapacity < 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.mergeOrder = mergeOrder;
+        this.stripeCapacity = stripeCapacity;
+    }
+
+    public MergeOrder getMergeOrder() {
+        return mergeOrder;
+    }
+
+    public ConcurrentBuilder append(char value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(char[] value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(String value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(CharSequence value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(CharSequence value, int start, int end) {
+        Stripe stripe = begin();
+        stripe.chars.append(value, start, end);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(boolean value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(int value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(long value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(float value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(double value) {
+        Stripe stripe = begin();
+        stripe.chars.append(value);
+
+        return end(stripe);
+    }
+
+    public ConcurrentBuilder append(Object value) {
+        return append(value.toString());
+    }
+
+    public int length() {
+        int length = 0;
+
+        for (Stripe stripe : stripes) {
+            length = Math.addExact(length, stripe.chars.length());
+        }
+
+        return length;
+    }
+
+    /**
+     * Append the merged content to the target and empty the stripes, which keep their arrays.
+     *
+     * @param target
+     * @return the target
+     */
+    public <T extends Builder> T drainTo(T target) {
+        char[] chunk = new char[CHUNK_SIZE];
+
+        merge((chars, start, end) -> {
+            for (int i = start; i < end; i += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, end - i);
+
+                chars.getChars(i, i + count, chunk, 0);
+                target.append(chunk, target.length(), count);
+            }
+        });
+
+        for (Stripe stripe : stripes) {
+            stripe.chars.reset();
+            stripe.fragments = 0;
+        }
+
+        firstTicket = tickets.get();
+
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        char[] result = new char[length()];
+        int[] position = { 0 };
+
+        merge((chars, start, end) -> {
+            chars.getChars(start, end, result, position[0]);
+            position[0] += end - start;
+        });
+
+        return new String(result);
+    }
+
+    private Stripe begin() {
+        Stripe stripe = localStripe.get();
+
+        if (mergeOrder == MergeOrder.TICKET) {
+            stripe.ticket = tickets.getAndIncrement();
+        }
+
+        return stripe;
+    }
+
+    private ConcurrentBuilder end(Stripe stripe) {
+        if (mergeOrder == MergeOrder.TICKET) {
+            stripe.addFragment(stripe.ticket, stripe.chars.length());
+        }
+
+        return this;
+    }
+
+    private Stripe register() {
+        Stripe stripe = new Stripe(stripeCapacity, mergeOrder == MergeOrder.TICKET);
+        stripes.add(stripe);
+
+        return stripe;
+    }
+
+    /**
+     * Hand the content to the sink in merge order. In ticket order the tickets taken since the last drain are
+     * dense, so every fragment is placed into a slot indexed by its ticket and the slots are walked in order.
+     *
+     * @param sink
+     */
+    private void merge(Segments sink) {
+        if (mergeOrder == MergeOrder.THREAD) {
+            for (Stripe stripe : stripes) {
+                sink.accept(stripe.chars, 0, stripe.chars.length());
+            }
+
+            return;
+        }
+
+        Stripe[] all = stripes.toArray(new Stripe[0]);
+        int count = Math.toIntExact(tickets.get() - firstTicket);
+        int[] slotStripe = new int[count];
+        int[] slotFragment = new int[count];
+
+        Arrays.fill(slotStripe, -1);
+
+        for (int s = 0; s < all.length; s++) {
+            for (int f = 0; f < all[s].fragments; f++) {
+                int slot = (int) (all[s].tickets[f] - firstTicket);
+
+                slotStripe[slot] = s;
+                slotFragment[slot] = f;
+            }
+        }
+
+        for (int slot = 0; slot < count; slot++) {
+            if (slotStripe[slot] < 0) {
+                continue;
+            }
+
+            Stripe stripe = all[slotStripe[slot]];
+            int fragment = slotFragment[slot];
+            int start = fragment == 0 ? 0 : stripe.ends[fragment - 1];
+
+            sink.accept(stripe.chars, start, stripe.ends[fragment]);
+        }
+    }
+
+    private interface Segments {
+
+        void accept(StringBuilder chars, int start, int end);
+    }
+
+    /**
+     * Content appended by one thread. In ticket order it also records, per append, the ticket and where
+     * its chars end.
+     */
+    private static final class Stripe {
+
+        private final StringBuilder chars;
+
+        private long[] tickets;
+
+        private int[] ends;
+
+        private int fragments = 0;
+
+        private long ticket;
+
+        private Stripe(int capacity, boolean recordFragments) {
+            chars = new StringBuilder(capacity);
+
+            if (recordFragments) {
+                tickets = new long[DEFAULT_FRAGMENT_CAPACITY];
+                ends = new int[DEFAULT_FRAGMENT_CAPACITY];
+            }
+        }
+
+        private void addFragment(long ticket, int end) {
+            if (fragments == tickets.length) {
+                tickets = Arrays.copyOf(tickets, fragments * 2);
+                ends = Arrays.copyOf(ends, fragments * 2);
+            }
+
+            tickets[fragments] = ticket;
+            ends[fragments] = end;
+            fragments++;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class ConcurrentBuilderTest {
+
+    private final static int THREADS = 8;
+
+    private final static int APPENDS = 10_000;
+
+    @Test
+    public void testThreadOrderKeepsEachThreadTogether() throws Exception {
+        ConcurrentBuilder builder = new ConcurrentBuilder(ConcurrentBuilder.MergeOrder.THREAD);
+
+        runThreads(builder);
+
+        String result = builder.toString();
+        Assert.assertEquals(THREADS * APPENDS * 2, result.length());
+
+        for (int t = 0; t < THREADS; t++) {
+            char name = (char) ('a' + t);
+            int first = result.indexOf(name);
+
+            for (int i = 0; i < APPENDS; i++) {
+                Assert.assertEquals(name, result.charAt(first + 2 * i));
+                Assert.assertEquals((char) ('0' + i % 10), result.charAt(first + 2 * i + 1));
+            }
+        }
+    }
+
+    @Test
+    public void testTicketOrderFollowsAppendOrder() {
+        ConcurrentBuilder builder = new ConcurrentBuilder(ConcurrentBuilder.MergeOrder.TICKET);
+
+        builder.append("a").append(1);
+        Thread other = new Thread(() -> builder.append("b").append(2L));
+        other.start();
+        joinQuietly(other);
+        builder.append('c').append(true);
+
+        Assert.assertEquals("a1b2ctrue", builder.toString());
+        Assert.assertEquals(9, builder.length());
+    }
+
+    @Test
+    public void testTicketOrderKeepsPerThreadOrder() throws Exception {
+        ConcurrentBuilder builder = new ConcurrentBuilder(ConcurrentBuilder.MergeOrder.TICKET);
+
+        runThreads(builder);
+
+        String result = builder.toString();
+        int[] next = new int[THREADS];
+
+        Assert.assertEquals(THREADS * APPENDS * 2, result.length());
+
+        for (int i = 0; i < result.length(); i += 2) {
+            int t = result.charAt(i) - 'a';
+
+            Assert.assertEquals((char) ('0' + next[t]++ % 10), result.charAt(i + 1));
+        }
+    }
+
+    @Test
+    public void testDrainEmptiesStripes() {
+        ConcurrentBuilder builder = new ConcurrentBuilder(ConcurrentBuilder.MergeOrder.TICKET);
+        StringBuilder target = new StringBuilder();
+
+        builder.append("first ");
+        builder.drainTo(target);
+        builder.append("second");
+
+        Assert.assertEquals("first ", target.toString());
+        Assert.assertEquals("second", builder.toString());
+        Assert.assertEquals("first second", builder.drainTo(target).toString());
+        Assert.assertEquals(0, builder.length());
+    }
+
+    private static void runThreads(ConcurrentBuilder builder) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            char name = (char) ('a' + t);
+            Thread thread = new Thread(() -> {
+                joinQuietly(start);
+                for (int i = 0; i < APPENDS; i++) {
+                    builder.append(new char[] { name, (char) ('0' + i % 10) });
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static void joinQuietly(Object waitable) {
+        try {
+            if (waitable instanceof Thread) {
+                ((Thread) waitable).join();
+            } else {
+                ((CountDownLatch) waitable).await();
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
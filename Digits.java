@@ -0,0 +1,245 @@
+package Coding.StringBuilder;
+
+/**
+ * Decimal formatting of integral values straight into a char or byte array, without temporary Strings.
+ */
+final class Digits {
+
+    private final static char[] DIGIT_TENS = {
+            '0', '0', '0', '0', '0', '0', '0', '0', '0', '0',
+            '1', '1', '1', '1', '1', '1', '1', '1', '1', '1',
+            '2', '2', '2', '2', '2', '2', '2', '2', '2', '2',
+            '3', '3', '3', '3', '3', '3', '3', '3', '3', '3',
+            '4', '4', '4', '4', '4', '4', '4', '4', '4', '4',
+            '5', '5', '5', '5', '5', '5', '5', '5', '5', '5',
+            '6', '6', '6', '6', '6', '6', '6', '6', '6', '6',
+            '7', '7', '7', '7', '7', '7', '7', '7', '7', '7',
+            '8', '8', '8', '8', '8', '8', '8', '8', '8', '8',
+            '9', '9', '9', '9', '9', '9', '9', '9', '9', '9',
+    };
+
+    private final static char[] DIGIT_ONES = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
+    };
+
+    private Digits() {
+    }
+
+    /**
+     * Number of chars needed to print the value, including the sign.
+     * Works on the negated value so that Integer.MIN_VALUE does not overflow.
+     *
+     * @param value
+     */
+    static int getDigitCount(int value) {
+        int signLength = 1;
+
+        if (value >= 0) {
+            signLength = 0;
+            value = -value;
+        }
+
+        int threshold = -10;
+        for (int digits = 1; digits < 10; digits++) {
+            if (value > threshold) {
+                return digits + signLength;
+            }
+
+            threshold *= 10;
+        }
+
+        return 10 + signLength;
+    }
+
+    static int getDigitCount(long value) {
+        int signLength = 1;
+
+        if (value >= 0) {
+            signLength = 0;
+            value = -value;
+        }
+
+        long threshold = -10;
+        for (int digits = 1; digits < 19; digits++) {
+            if (value > threshold) {
+                return digits + signLength;
+            }
+
+            threshold *= 10;
+        }
+
+        return 19 + signLength;
+    }
+
+    /**
+     * Write the decimal representation of the value backwards into the array, so that its last digit
+     * lands right before the end position. Two digits are emitted per division using the digit pair tables.
+     *
+     * @param value
+     * @param end
+     * @param arr
+     */
+    static void getChars(int value, int end, char[] arr) {
+        int position = end;
+        boolean negative = value < 0;
+
+        if (!negative) {
+            value = -value;
+        }
+
+        int quotient;
+        int remainder;
+        while (value <= -100) {
+            quotient = value / 100;
+            remainder = (quotient * 100) - value;
+            value = quotient;
+            arr[--position] = DIGIT_ONES[remainder];
+            arr[--position] = DIGIT_TENS[remainder];
+        }
+
+        quotient = value / 10;
+        remainder = (quotient * 10) - value;
+        arr[--position] = (char) ('0' + remainder);
+
+        if (quotient < 0) {
+            arr[--position] = (char) ('0' - quotient);
+        }
+
+        if (negative) {
+            arr[--position] = '-';
+        }
+    }
+
+    static void getChars(long value, int end, char[] arr) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            getChars((int) value, end, arr);
+            return;
+        }
+
+        int position = end;
+        boolean negative = value < 0;
+
+        if (!negative) {
+            value = -value;
+        }
+
+        long quotient;
+        int remainder;
+        while (value <= Integer.MIN_VALUE) {
+            quotient = value / 100;
+            remainder = (int) ((quotient * 100) - value);
+            value = quotient;
+            arr[--position] = DIGIT_ONES[remainder];
+            arr[--position] = DIGIT_TENS[remainder];
+        }
+
+        int rest = (int) value;
+        while (rest <= -100) {
+            int restQuotient = rest / 100;
+            remainder = (restQuotient * 100) - rest;
+            rest = restQuotient;
+            arr[--position] = DIGIT_ONES[remainder];
+            arr[--position] = DIGIT_TENS[remainder];
+        }
+
+        int restQuotient = rest / 10;
+        remainder = (restQuotient * 10) - rest;
+        arr[--position] = (char) ('0' + remainder);
+
+        if (restQuotient < 0) {
+            arr[--position] = (char) ('0' - restQuotient);
+        }
+
+        if (negative) {
+            arr[--position] = '-';
+        }
+    }
+
+    /**
+     * Same as getChars, for Latin-1 storage.
+     */
+    static void getBytes(int value, int end, byte[] arr) {
+        int position = end;
+        boolean negative = value < 0;
+
+        if (!negative) {
+            value = -value;
+        }
+
+        int quotient;
+        int remainder;
+        while (value <= -100) {
+            quotient = value / 100;
+            remainder = (quotient * 100) - value;
+            value = quotient;
+            arr[--position] = (byte) DIGIT_ONES[remainder];
+            arr[--position] = (byte) DIGIT_TENS[remainder];
+        }
+
+        quotient = value / 10;
+        remainder = (quotient * 10) - value;
+        arr[--position] = (byte) ('0' + remainder);
+
+        if (quotient < 0) {
+            arr[--position] = (byte) ('0' - quotient);
+        }
+
+        if (negative) {
+            arr[--position] = (byte) '-';
+        }
+    }
+
+    static void getBytes(long value, int end, byte[] arr) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            getBytes((int) value, end, arr);
+            return;
+        }
+
+        int position = end;
+        boolean negative = value < 0;
+
+        if (!negative) {
+            value = -value;
+        }
+
+        long quotient;
+        int remainder;
+        while (value <= Integer.MIN_VALUE) {
+            quotient = value / 100;
+            remainder = (int) ((quotient * 100) - value);
+            value = quotient;
+            arr[--position] = (byte) DIGIT_ONES[remainder];
+            arr[--position] = (byte) DIGIT_TENS[remainder];
+        }
+
+        int rest = (int) value;
+        while (rest <= -100) {
+            int restQuotient = rest / 100;
+            remainder = (restQuotient * 100) - rest;
+            rest = restQuotient;
+            arr[--position] = (byte) DIGIT_ONES[remainder];
+            arr[--position] = (byte) DIGIT_TENS[remainder];
+        }
+
+        int restQuotient = rest / 10;
+        remainder = (restQuotient * 10) - rest;
+        arr[--position] = (byte) ('0' + remainder);
+
+        if (restQuotient < 0) {
+            arr[--position] = (byte) ('0' - restQuotient);
+        }
+
+        if (negative) {
+            arr[--position] = (byte) '-';
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Doubles the array until the content occupies at most the load factor (in percent) of it.
+ * The number of doublings is derived from the leading zeros of the ratio instead of a loop.
+ */
+public class DoublingGrowthPolicy implements GrowthPolicy {
+
+    private final int loadFactor;
+
+    public DoublingGrowthPolicy(int loadFactor) {
+        if (loadFactor <= 0 || loadFactor > 100) {
+            throw new InvalidParameterException("Invalid load factor.");
+        }
+
+        this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public int getThreshold(int capacity) {
+        return (int) ((long) capacity * loadFactor / 100);
+    }
+
+    @Override
+    public int getNewCapacity(int currentCapacity, int requiredLength) {
+        long base = Math.max(currentCapacity, 1);
+        long minimumCapacity = ((long) requiredLength * 100 + loadFactor - 1) / loadFactor;
+
+        if (minimumCapacity <= base) {
+            return (int) base;
+        }
+
+        long ratio = (minimumCapacity + base - 1) / base;
+        int doublings = Long.SIZE - Long.numberOfLeadingZeros(ratio - 1);
+
+        if (doublings >= Integer.SIZE || (base << doublings) > MAX_CAPACITY) {
+            return Math.max(requiredLength, MAX_CAPACITY);
+        }
+
+        return (int) (base << doublings);
+    }
+}
@@ -0,0 +1,204 @@
+package Coding.StringBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the content of a builder into bytes chunk by chunk, straight from its chars, so getting bytes out
+ * never needs a String of the whole content. Malformed and unmappable chars are replaced the same way
+ * String.getBytes replaces them.
+ */
+final class Encoding {
+
+    private final static int CHUNK_SIZE = 4096;
+
+    private final static int BUFFER_SIZE = 8192;
+
+    private Encoding() {
+    }
+
+    /**
+     * Encode the whole content into the target buffer.
+     *
+     * @param builder the builder to read chunks from, when source is null
+     * @param source the array holding the content at [0, builder.length()), or null
+     * @param charset
+     * @param target
+     * @return the number of bytes put into the target
+     * @throws BufferOverflowException if the target has no room left, with the bytes encoded so far in it
+     */
+    static int encode(Builder builder, char[] source, Charset charset, ByteBuffer target) {
+        int start = target.position();
+
+        try {
+            encode(builder, source, charset, target, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return target.position() - start;
+    }
+
+    /**
+     * Receives the encoded bytes between position and limit of the buffer, and must take all of them.
+     */
+    private interface ByteSink {
+
+        void write(ByteBuffer bytes) throws IOException;
+    }
+
+    /**
+     * Encode the whole content through a small buffer that is written out every time it fills up. Partial
+     * writes are retried until the channel took every byte.
+     *
+     * @param builder the builder to read chunks from, when source is null
+     * @param source the array holding the content at [0, builder.length()), or null
+     * @param charset
+     * @param channel
+     * @return the number of bytes written
+     */
+    static long write(Builder builder, char[] source, Charset charset, WritableByteChannel channel)
+            throws IOException {
+        return encode(builder, source, charset, ByteBuffer.allocate(BUFFER_SIZE), bytes -> {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        });
+    }
+
+    static long write(Builder builder, char[] source, Charset charset, OutputStream out) throws IOException {
+        return encode(builder, source, charset, ByteBuffer.allocate(BUFFER_SIZE),
+                bytes -> out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining()));
+    }
+
+    private static long encode(Builder builder, char[] source, Charset charset, ByteBuffer target, ByteSink sink)
+            throws IOException {
+        int length = builder.length();
+
+        if (length == 0) {
+            return 0;
+        }
+
+        CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        boolean asciiCompatible = isAsciiCompatible(charset);
+        char[] chunk = source != null ? source : new char[CHUNK_SIZE];
+        long written = 0;
+
+        for (int position = 0; position < length; ) {
+            int chunkStart = 0;
+            int chunkEnd;
+
+            if (source != null) {
+                chunkStart = position;
+                chunkEnd = length;
+            } else {
+                chunkEnd = Math.min(CHUNK_SIZE, length - position);
+                builder.getChars(position, position + chunkEnd, chunk, 0);
+            }
+
+            boolean endOfInput = position + chunkEnd - chunkStart == length;
+            int next = encodeChunk(chunk, chunkStart, chunkEnd, endOfInput, target, encoder, asciiCompatible);
+
+            position += next - chunkStart;
+
+            if (sink != null) {
+                written += drain(target, sink);
+            } else if (next == chunkStart) {
+                throw new BufferOverflowException();
+            }
+        }
+
+        // an input made only of ASCII never reached the encoder, which has to see the end before it can flush
+        encoder.encode(CharBuffer.allocate(0), target, true);
+
+        while (encoder.flush(target).isOverflow()) {
+            if (sink == null) {
+                throw new BufferOverflowException();
+            }
+
+            written += drain(target, sink);
+        }
+
+        if (sink != null) {
+            written += drain(target, sink);
+        }
+
+        return written;
+    }
+
+    /**
+     * Encode chars from the chunk until it or the target runs out. For ASCII-compatible charsets a run of
+     * ASCII chars is first narrowed straight into the target's array; the encoder only gets the rest.
+     * Unless this is the end of the input, a high surrogate at the end of the chunk is left for the next one.
+     *
+     * @return the index of the first char that was not encoded
+     */
+    private static int encodeChunk(char[] chunk, int start, int end, boolean endOfInput, ByteBuffer target,
+                                   CharsetEncoder encoder, boolean asciiCompatible) {
+        int position = start;
+
+        if (asciiCompatible && target.hasArray()) {
+            position = copyAscii(chunk, start, end, target);
+        }
+
+        if (position == end || !target.hasRemaining()) {
+            return position;
+        }
+
+        CharBuffer in = CharBuffer.wrap(chunk, position, end - position);
+        CoderResult result = encoder.encode(in, target, endOfInput);
+
+        if (result.isError()) {
+            throw new IllegalStateException(result.toString());
+        }
+
+        return in.position();
+    }
+
+    private static int copyAscii(char[] chunk, int start, int end, ByteBuffer target) {
+        byte[] bytes = target.array();
+        int offset = target.arrayOffset() + target.position();
+        int count = Math.min(end - start, target.remaining());
+        int i = 0;
+
+        while (i < count && chunk[start + i] < 0x80) {
+            bytes[offset + i] = (byte) chunk[start + i];
+            i++;
+        }
+
+        target.position(target.position() + i);
+
+        return start + i;
+    }
+
+    private static long drain(ByteBuffer target, ByteSink sink) throws IOException {
+        target.flip();
+
+        int count = target.remaining();
+
+        if (count > 0) {
+            sink.write(target);
+        }
+
+        target.clear();
+
+        return count;
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+}
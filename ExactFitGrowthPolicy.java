@@ -0,0 +1,17 @@
+package Coding.StringBuilder;
+
+/**
+ * Grows the array to exactly the required length, trading repeated copies for zero wasted capacity.
+ */
+public class ExactFitGrowthPolicy implements GrowthPolicy {
+
+    @Override
+    public int getThreshold(int capacity) {
+        return capacity;
+    }
+
+    @Override
+    public int getNewCapacity(int currentCapacity, int requiredLength) {
+        return requiredLength;
+    }
+}
@@ -0,0 +1,697 @@
+package Coding.StringBuilder;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * Formatting of float and double values straight into a char array, without temporary Strings.
+ * getChars writes the shortest decimal that rounds back to the same value, laid out like Double.toString
+ * and Float.toString; the digits are computed with Schubfach (R. Giulietti, "The Schubfach way to render
+ * doubles"). getFixedChars rounds those shortest digits half-up to a number of decimals, like the %.nf
+ * conversion of Formatter.
+ * <p>
+ * Double.toString and Float.toString only pick the shortest decimal from Java 19 on, and Formatter only rounds
+ * it from Java 21 on; before that they sometimes use a longer one. On those runtimes both methods copy the
+ * output of the JDK instead, so the chars are always the same as String.valueOf and String.format.
+ */
+final class FloatingDigits {
+
+    /**
+     * Longest output of getChars for a double, as in -2.2250738585072014E-308.
+     */
+    final static int MAX_DOUBLE_LENGTH = 24;
+
+    /**
+     * Longest output of getChars for a float, as in -1.17549435E-38.
+     */
+    final static int MAX_FLOAT_LENGTH = 15;
+
+    private final static int DOUBLE_P = 53;
+
+    private final static int DOUBLE_Q_MIN = -1074;
+
+    private final static long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+
+    private final static long DOUBLE_C_TINY = 3;
+
+    private final static int DOUBLE_H = 17;
+
+    private final static int DOUBLE_BQ_MASK = 0x7FF;
+
+    private final static long DOUBLE_T_MASK = (1L << (DOUBLE_P - 1)) - 1;
+
+    private final static int FLOAT_P = 24;
+
+    private final static int FLOAT_Q_MIN = -149;
+
+    private final static int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+
+    private final static int FLOAT_C_TINY = 8;
+
+    private final static int FLOAT_H = 9;
+
+    private final static int FLOAT_BQ_MASK = 0xFF;
+
+    private final static int FLOAT_T_MASK = (1 << (FLOAT_P - 1)) - 1;
+
+    private final static boolean SHORTEST_TO_STRING = Runtime.version().feature() >= 19;
+
+    private final static boolean SHORTEST_FORMAT = Runtime.version().feature() >= 21;
+
+    private final static int K_MIN = -324;
+
+    private final static int K_MAX = 292;
+
+    private final static long MASK_63 = (1L << 63) - 1;
+
+    private final static long MASK_32 = (1L << 32) - 1;
+
+    private final static int MASK_28 = (1 << 28) - 1;
+
+    private final static char[] NAN = { 'N', 'a', 'N' };
+
+    private final static char[] INFINITY = { 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y' };
+
+    private final static char[] ZERO = { '0', '.', '0' };
+
+    private final static long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+    };
+
+    /**
+     * For k in [K_MIN, K_MAX], the pair at 2 (k - K_MIN) holds the high and low 63 bits of
+     * g = floor(10^-k 2^(125 - flog2pow10(-k))) + 1, a 126 bit upper approximation of 10^-k.
+     */
+    private final static long[] G = computeG();
+
+    private FloatingDigits() {
+    }
+
+    /**
+     * Write the shortest decimal representation of the value at the position.
+     *
+     * @return the position after the last char written
+     */
+    static int getChars(double value, char[] buf, int position) {
+        if (!SHORTEST_TO_STRING) {
+            return put(Double.toString(value), buf, position);
+        }
+
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & DOUBLE_T_MASK;
+        int bq = (int) (bits >>> (DOUBLE_P - 1)) & DOUBLE_BQ_MASK;
+
+        if (bq == DOUBLE_BQ_MASK) {
+            return t != 0 ? put(NAN, buf, position) : putInfinity(bits < 0, buf, position);
+        }
+
+        if (bits < 0) {
+            buf[position++] = '-';
+        }
+
+        if (bq != 0) {
+            // normal value, with mq = -q
+            int mq = -DOUBLE_Q_MIN + 1 - bq;
+            long c = DOUBLE_C_MIN | t;
+
+            // integers that fit the significand
+            if (0 < mq && mq < DOUBLE_P) {
+                long f = c >> mq;
+
+                if (f << mq == c) {
+                    return toChars(f, 0, buf, position, false);
+                }
+            }
+
+            return toDecimal(-mq, c, 0, buf, position, false);
+        }
+
+        if (t != 0) {
+            // subnormal value
+            return t < DOUBLE_C_TINY
+                    ? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, position, false)
+                    : toDecimal(DOUBLE_Q_MIN, t, 0, buf, position, false);
+        }
+
+        return put(ZERO, buf, position);
+    }
+
+    /**
+     * Write the shortest decimal representation of the value at the position.
+     *
+     * @return the position after the last char written
+     */
+    static int getChars(float value, char[] buf, int position) {
+        if (!SHORTEST_TO_STRING) {
+            return put(Float.toString(value), buf, position);
+        }
+
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & FLOAT_T_MASK;
+        int bq = (bits >>> (FLOAT_P - 1)) & FLOAT_BQ_MASK;
+
+        if (bq == FLOAT_BQ_MASK) {
+            return t != 0 ? put(NAN, buf, position) : putInfinity(bits < 0, buf, position);
+        }
+
+        if (bits < 0) {
+            buf[position++] = '-';
+        }
+
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            int c = FLOAT_C_MIN | t;
+
+            if (0 < mq && mq < FLOAT_P) {
+                int f = c >> mq;
+
+                if (f << mq == c) {
+                    return toChars(f, 0, buf, position);
+                }
+            }
+
+            return toDecimal(-mq, c, 0, buf, position);
+        }
+
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buf, position)
+                    : toDecimal(FLOAT_Q_MIN, t, 0, buf, position);
+        }
+
+        return put(ZERO, buf, position);
+    }
+
+    /**
+     * Room that getFixedChars needs from its position on: the output and, after it, space for the digits it
+     * rounds from.
+     */
+    static int getMaxFixedLength(double value, int decimals) {
+        return 2 + getIntegerDigitBound(value) + decimals + DOUBLE_H;
+    }
+
+    /**
+     * Write the value in plain notation with exactly the given number of decimals, rounding its shortest decimal
+     * representation half-up. Needs getMaxFixedLength chars of room from the position on.
+     *
+     * @return the position after the last char written
+     */
+    static int getFixedChars(double value, int decimals, char[] buf, int position) {
+        if (!SHORTEST_FORMAT) {
+            return put(String.format(Locale.ROOT, "%." + decimals + "f", value), buf, position);
+        }
+
+        if (Double.isNaN(value)) {
+            return put(NAN, buf, position);
+        }
+
+        if (Double.isInfinite(value)) {
+            return putInfinity(value < 0, buf, position);
+        }
+
+        int digitsAt = position + 2 + getIntegerDigitBound(value) + decimals;
+        int count = 0;
+        int pointPosition = 1;
+
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buf[position++] = '-';
+        }
+
+        if (value != 0) {
+            int packed = getDigits(Math.abs(value), buf, digitsAt);
+
+            pointPosition = packed >> 5;
+            count = packed & 0x1F;
+        }
+
+        // the digits are 0.d[0]d[1]... * 10^pointPosition; keep those up to the last decimal
+        int kept = pointPosition + decimals;
+
+        if (kept < count) {
+            if (kept < 0 || buf[digitsAt + kept] < '5') {
+                count = Math.max(kept, 0);
+            } else {
+                int i = kept - 1;
+
+                while (i >= 0 && buf[digitsAt + i] == '9') {
+                    i--;
+                }
+
+                if (i < 0) {
+                    buf[digitsAt] = '1';
+                    count = 1;
+                    pointPosition++;
+                } else {
+                    buf[digitsAt + i]++;
+                    count = i + 1;
+                }
+            }
+        }
+
+        if (pointPosition <= 0) {
+            buf[position++] = '0';
+        }
+
+        for (int j = 0; j < pointPosition; j++) {
+            buf[position++] = j < count ? buf[digitsAt + j] : '0';
+        }
+
+        if (decimals > 0) {
+            buf[position++] = '.';
+
+            for (int j = pointPosition; j < pointPosition + decimals; j++) {
+                buf[position++] = j >= 0 && j < count ? buf[digitsAt + j] : '0';
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * Write the significant digits of the shortest decimal representation of a positive finite value,
+     * without trailing zeroes.
+     *
+     * @return the digit count in the low 5 bits and, above them, the position of the decimal point relative
+     * to the first digit
+     */
+    private static int getDigits(double value, char[] buf, int position) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & DOUBLE_T_MASK;
+        int bq = (int) (bits >>> (DOUBLE_P - 1)) & DOUBLE_BQ_MASK;
+
+        if (bq != 0) {
+            return toDecimal(DOUBLE_Q_MIN - 1 + bq, DOUBLE_C_MIN | t, 0, buf, position, true);
+        }
+
+        return t < DOUBLE_C_TINY
+                ? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buf, position, true)
+                : toDecimal(DOUBLE_Q_MIN, t, 0, buf, position, true);
+    }
+
+    /**
+     * Find the shortest decimal in the rounding interval of c 2^q, and of those the closest one.
+     * See figures 7 and 9 of the Schubfach paper.
+     */
+    private static int toDecimal(int q, long c, int dk, char[] buf, int position, boolean digitsOnly) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+            // regular spacing
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // irregular spacing
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = G[2 * (k - K_MIN)];
+        long g0 = G[2 * (k - K_MIN) + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+
+        if (s >= 100) {
+            // s' = floor(s / 10), and the candidates one digit shorter are sp10 and tp10
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buf, position, digitsOnly);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buf, position, digitsOnly);
+        }
+
+        // both are in the interval: take the closest, the even one on a tie
+        long cmp = vb - (s + t << 1);
+
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, position, digitsOnly);
+    }
+
+    private static int toDecimal(int q, int c, int dk, char[] buf, int position) {
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 33;
+        long g = G[2 * (k - K_MIN)] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buf, position);
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buf, position);
+        }
+
+        int cmp = vb - (s + t << 1);
+
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, position);
+    }
+
+    /**
+     * Round to odd of cp g 2^-127, with g = g1 2^63 + g0.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = Math.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    /**
+     * Lay out f 10^e, or with digitsOnly just write its digits, see getDigits.
+     */
+    private static int toChars(long f, int e, char[] buf, int position, boolean digitsOnly) {
+        int length = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+
+        if (f >= POW10[length]) {
+            length++;
+        }
+
+        // scale f to exactly H digits, so that f 10^e becomes 0.f 10^e
+        f *= POW10[DOUBLE_H - length];
+        e += length;
+
+        // split the 17 digits into the first one, the next 8 and the last 8
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000 * hm);
+        int h = (int) (hm * 1_441_151_881 >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+
+        if (digitsOnly) {
+            int start = position;
+
+            buf[position++] = (char) ('0' + h);
+            position = put8Digits(m, buf, position);
+            position = put8Digits(l, buf, position);
+
+            while (buf[position - 1] == '0') {
+                position--;
+            }
+
+            return e << 5 | position - start;
+        }
+
+        if (0 < e && e <= 7) {
+            // plain notation without leading zeroes
+            buf[position++] = (char) ('0' + h);
+
+            int y = y(m);
+            int i = 1;
+
+            for (; i < e; i++) {
+                int t = 10 * y;
+                buf[position++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+
+            buf[position++] = '.';
+
+            for (; i <= 8; i++) {
+                int t = 10 * y;
+                buf[position++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+
+            return putLowDigits(l, buf, position);
+        }
+
+        if (-3 < e && e <= 0) {
+            // plain notation with leading zeroes
+            buf[position++] = '0';
+            buf[position++] = '.';
+
+            for (; e < 0; e++) {
+                buf[position++] = '0';
+            }
+
+            buf[position++] = (char) ('0' + h);
+            position = put8Digits(m, buf, position);
+
+            return putLowDigits(l, buf, position);
+        }
+
+        // computerized scientific notation
+        buf[position++] = (char) ('0' + h);
+        buf[position++] = '.';
+        position = put8Digits(m, buf, position);
+        position = putLowDigits(l, buf, position);
+
+        return putExponent(e - 1, buf, position);
+    }
+
+    private static int toChars(int f, int e, char[] buf, int position) {
+        int length = flog10pow2(Integer.SIZE - Integer.numberOfLeadingZeros(f));
+
+        if (f >= POW10[length]) {
+            length++;
+        }
+
+        f *= (int) POW10[FLOAT_H - length];
+        e += length;
+
+        int h = (int) (f * 1_441_151_881L >>> 57);
+        int l = f - 100_000_000 * h;
+
+        if (0 < e && e <= 7) {
+            buf[position++] = (char) ('0' + h);
+
+            int y = y(l);
+            int i = 1;
+
+            for (; i < e; i++) {
+                int t = 10 * y;
+                buf[position++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+
+            buf[position++] = '.';
+
+            for (; i <= 8; i++) {
+                int t = 10 * y;
+                buf[position++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+
+            return removeTrailingZeroes(buf, position);
+        }
+
+        if (-3 < e && e <= 0) {
+            buf[position++] = '0';
+            buf[position++] = '.';
+
+            for (; e < 0; e++) {
+                buf[position++] = '0';
+            }
+
+            buf[position++] = (char) ('0' + h);
+            position = put8Digits(l, buf, position);
+
+            return removeTrailingZeroes(buf, position);
+        }
+
+        buf[position++] = (char) ('0' + h);
+        buf[position++] = '.';
+        position = put8Digits(l, buf, position);
+        position = removeTrailingZeroes(buf, position);
+
+        return putExponent(e - 1, buf, position);
+    }
+
+    private static int putLowDigits(int l, char[] buf, int position) {
+        if (l != 0) {
+            position = put8Digits(l, buf, position);
+        }
+
+        return removeTrailingZeroes(buf, position);
+    }
+
+    /**
+     * Write the 8 digits of m, left to right, each with a multiplication instead of a division.
+     */
+    private static int put8Digits(int m, char[] buf, int position) {
+        int y = y(m);
+
+        for (int i = 0; i < 8; i++) {
+            int t = 10 * y;
+            buf[position++] = (char) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+
+        return position;
+    }
+
+    /**
+     * Drop trailing zeroes, but keep the one right after the decimal point.
+     */
+    private static int removeTrailingZeroes(char[] buf, int position) {
+        while (buf[position - 1] == '0') {
+            position--;
+        }
+
+        if (buf[position - 1] == '.') {
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * floor((a + 1) 2^28 / 10^8) - 1, the fixed point fraction the digits of a are extracted from.
+     */
+    private static int y(int a) {
+        return (int) (Math.multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int putExponent(int e, char[] buf, int position) {
+        buf[position++] = 'E';
+
+        if (e < 0) {
+            buf[position++] = '-';
+            e = -e;
+        }
+
+        if (e >= 100) {
+            int d = e * 1_311 >>> 17;
+            buf[position++] = (char) ('0' + d);
+            e -= 100 * d;
+            buf[position++] = (char) ('0' + (e * 103 >>> 10));
+        } else if (e >= 10) {
+            buf[position++] = (char) ('0' + (e * 103 >>> 10));
+        }
+
+        buf[position++] = (char) ('0' + e % 10);
+
+        return position;
+    }
+
+    private static int putInfinity(boolean negative, char[] buf, int position) {
+        if (negative) {
+            buf[position++] = '-';
+        }
+
+        return put(INFINITY, buf, position);
+    }
+
+    private static int put(char[] chars, char[] buf, int position) {
+        System.arraycopy(chars, 0, buf, position, chars.length);
+
+        return position + chars.length;
+    }
+
+    private static int put(String chars, char[] buf, int position) {
+        chars.getChars(0, chars.length(), buf, position);
+
+        return position + chars.length();
+    }
+
+    /**
+     * Upper bound of the number of integer digits of the value in plain notation, including a carry from rounding.
+     */
+    private static int getIntegerDigitBound(double value) {
+        int exponent = Math.getExponent(value);
+
+        return exponent < 0 ? 1 : flog10pow2(exponent + 1) + 2;
+    }
+
+    /**
+     * floor(log10(2^e))
+     */
+    static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * floor(log10(3/4 2^e))
+     */
+    static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * floor(log2(10^e))
+     */
+    static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    private static long[] computeG() {
+        long[] g = new long[2 * (K_MAX - K_MIN + 1)];
+
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int shift = 125 - flog2pow10(-k);
+            BigInteger value;
+
+            if (k <= 0) {
+                BigInteger pow10 = BigInteger.TEN.pow(-k);
+                value = shift >= 0 ? pow10.shiftLeft(shift) : pow10.shiftRight(-shift);
+            } else {
+                value = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+            }
+
+            value = value.add(BigInteger.ONE);
+
+            g[2 * (k - K_MIN)] = value.shiftRight(63).longValue();
+            g[2 * (k - K_MIN) + 1] = value.longValue() & MASK_63;
+        }
+
+        return g;
+    }
+}
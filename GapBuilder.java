@@ -0,0 +1,475 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Builder backed by a gap buffer: a char array with a movable hole in it, placed where the last edit happened.
+ * Content before the gap lives at [0, gapStart) and content after it at [gapEnd, buffer.length).
+ * An edit first moves the gap to its position with a single arraycopy of the chars in between,
+ * so a burst of inserts and deletes at nearby positions only ever moves the few chars between them.
+ */
+public class GapBuilder implements Builder {
+
+    private final static int DEFAULT_SIZE = 10;
+
+    private final static int LOAD_FACTOR = 75;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
+    private char[] buffer;
+
+    private int gapStart = 0;
+
+    private int gapEnd;
+
+    private final GrowthPolicy growthPolicy;
+
+    private int threshold;
+
+    public GapBuilder() {
+        this(DEFAULT_SIZE);
+    }
+
+    public GapBuilder(int capacity) {
+        this(capacity, new DoublingGrowthPolicy(LOAD_FACTOR));
+    }
+
+    public GapBuilder(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0 || growthPolicy == null) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.growthPolicy = growthPolicy;
+        buffer = new char[capacity];
+        gapEnd = capacity;
+        threshold = growthPolicy.getThreshold(capacity);
+    }
+
+    public GapBuilder(String value) {
+        this();
+
+        if (value == null || value.isEmpty()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        append(value);
+    }
+
+    @Override
+    public int length() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public char charAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return getChar(position);
+    }
+
+    @Override
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Grow once, if needed, so that the content can reach the given length without growing again.
+     */
+    @Override
+    public void ensureCapacity(int minimumCapacity) {
+        if (minimumCapacity > threshold) {
+            grow(minimumCapacity, gapStart);
+        }
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return delete(position, position + 1);
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        int length = length();
+
+        if ((start < 0 || end < 0) || (start >= length) || (end > length) || (start > end)) {
+            throw new IndexOutOfBoundsException("Index out ouf range.");
+        }
+
+        // grow the gap from whichever side of the deleted range is closer to it
+        if (Math.abs(gapStart - end) < Math.abs(gapStart - start)) {
+            moveGap(end);
+            gapStart = start;
+        } else {
+            moveGap(start);
+            gapEnd += end - start;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        int length = length();
+
+        moveGap(length);
+
+        int middleIndex = length / 2;
+        for (int i = 0, j = length - 1; i < middleIndex; i++, j--) {
+            char tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return lastIndexOf(value, length());
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.min(fromIndex, length() - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        for (int i = start; i >= 0; i--) {
+            if (getChar(i) == first && regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return indexOf(value, 0);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        int length = length();
+        int valueLength = value.length();
+        int start = Math.max(fromIndex, 0);
+
+        if (start >= length) {
+            return valueLength == 0 ? length : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        int last = length - valueLength;
+        for (int i = start; i <= last; i++) {
+            if (getChar(i) == first && regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Builder append(char value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        return append(charSequence, length(), charSequence.length);
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        openGapAt(offset, length);
+
+        System.arraycopy(charSequence, 0, buffer, gapStart, length);
+        gapStart += length;
+
+        return this;
+    }
+
+    @Override
+    public Builder append(String value) {
+        return insert(length(), (CharSequence) value);
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return putCharSequence(length(), value, start, end);
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(int value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(long value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(float value) {
+        return insert(length(), String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(double value) {
+        return insert(length(), String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(Object object) {
+        return insert(length(), object.toString());
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        openGapAt(offset, 1);
+
+        buffer[gapStart++] = value;
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        return append(charSequence, offset, charSequence.length);
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        return insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        if (value == this) {
+            value = this.toString();
+        }
+
+        return putCharSequence(offset, value, 0, value.length());
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        int length = Digits.getDigitCount(value);
+
+        openGapAt(offset, length);
+
+        gapStart += length;
+        Digits.getChars(value, gapStart, buffer);
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        int length = Digits.getDigitCount(value);
+
+        openGapAt(offset, length);
+
+        gapStart += length;
+        Digits.getChars(value, gapStart, buffer);
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        return insert(offset, value ? TRUE_CHARS : FALSE_CHARS);
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    @Override
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        int beforeGap = Math.max(Math.min(srcEnd, gapStart) - srcBegin, 0);
+        int afterGap = srcEnd - srcBegin - beforeGap;
+
+        System.arraycopy(buffer, srcBegin, dst, dstBegin, beforeGap);
+        System.arraycopy(buffer, srcBegin + beforeGap + gapEnd - gapStart, dst, dstBegin + beforeGap, afterGap);
+    }
+
+    @Override
+    public String toString() {
+        int length = length();
+
+        if (gapStart == length) {
+            return String.valueOf(buffer, 0, length);
+        }
+
+        char[] result = new char[length];
+        System.arraycopy(buffer, 0, result, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, result, gapStart, buffer.length - gapEnd);
+
+        return new String(result);
+    }
+
+    private Builder putCharSequence(int offset, CharSequence value, int start, int end) {
+        int length = end - start;
+
+        openGapAt(offset, length);
+
+        if (value instanceof String) {
+            ((String) value).getChars(start, end, buffer, gapStart);
+        } else if (value instanceof StringBuilder) {
+            ((StringBuilder) value).getChars(start, end, buffer, gapStart);
+        } else {
+            for (int i = start, position = gapStart; i < end; i++) {
+                buffer[position++] = value.charAt(i);
+            }
+        }
+
+        gapStart += length;
+
+        return this;
+    }
+
+    private char getChar(int position) {
+        return position < gapStart ? buffer[position] : buffer[position + gapEnd - gapStart];
+    }
+
+    private boolean regionMatches(int position, String value) {
+        for (int j = 1; j < value.length(); j++) {
+            if (getChar(position + j) != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Make sure the gap starts at the offset and can take the given number of chars.
+     *
+     * @param offset
+     * @param length
+     */
+    private void openGapAt(int offset, int length) {
+        if (offset < 0 || offset > length()) {
+            throw new InvalidParameterException("Index out of range.");
+        }
+
+        int requiredLength = length() + length;
+
+        if (requiredLength > threshold || requiredLength < 0) {
+            grow(requiredLength, offset);
+        } else {
+            moveGap(offset);
+        }
+    }
+
+    /**
+     * Move the gap so that it starts at the position, shifting the chars between the old and the new position
+     * across the gap with a single arraycopy.
+     *
+     * @param position
+     */
+    private void moveGap(int position) {
+        if (position < gapStart) {
+            int count = gapStart - position;
+            System.arraycopy(buffer, position, buffer, gapEnd - count, count);
+            gapStart = position;
+            gapEnd -= count;
+        } else if (position > gapStart) {
+            int count = position - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            gapStart = position;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Copy the content into a larger array with the gap at the position, widening the gap by the difference. The
+     * chars before the position, those the gap moves across and those after it each go straight to their final
+     * offsets, so every char is copied once.
+     *
+     * @param requiredLength
+     * @param position
+     */
+    private void grow(int requiredLength, int position) {
+        if (requiredLength < 0 || requiredLength > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
+        }
+
+        int size = growthPolicy.getNewCapacity(buffer.length, requiredLength);
+
+        if (size < requiredLength) {
+            throw new IllegalStateException("Growth policy returned a capacity below the required length.");
+        }
+
+        char[] resized = new char[size];
+        int tailLength = length() - position;
+        int resizedGapEnd = size - tailLength;
+
+        if (position <= gapStart) {
+            System.arraycopy(buffer, 0, resized, 0, position);
+            System.arraycopy(buffer, position, resized, resizedGapEnd, gapStart - position);
+            System.arraycopy(buffer, gapEnd, resized, resizedGapEnd + gapStart - position, buffer.length - gapEnd);
+        } else {
+            System.arraycopy(buffer, 0, resized, 0, gapStart);
+            System.arraycopy(buffer, gapEnd, resized, gapStart, position - gapStart);
+            System.arraycopy(buffer, gapEnd + position - gapStart, resized, resizedGapEnd, tailLength);
+        }
+
+        buffer = resized;
+        gapStart = position;
+        gapEnd = resizedGapEnd;
+        threshold = growthPolicy.getThreshold(size);
+    }
+
+    private void checkPositionOutOfBounds(int position) {
+        if (position < 0 || position >= length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class GapBuilderTest {
+
+    private final static int DEFAULT_SPACE = 10;
+
+    private GapBuilder gb;
+
+    @Before
+    public void before() {
+        gb = new GapBuilder();
+    }
+
+    @Test
+    public void testSizeAfterInitWithDefaultConstruct() {
+        Assert.assertEquals(DEFAULT_SPACE, gb.getCapacity());
+        Assert.assertEquals(0, gb.length());
+        Assert.assertEquals("", gb.toString());
+    }
+
+    @Test
+    public void testAppendValues() {
+        gb.append("abc").append('d').append(12).append(-34L).append(true).append(1.5).append(new char[] { 'x' });
+
+        Assert.assertEquals("abcd12-34true1.5x", gb.toString());
+        Assert.assertEquals(17, gb.length());
+    }
+
+    @Test
+    public void testGrowthKeepsBothSidesOfTheGap() {
+        gb.append("HelloWorld");
+        gb.insert(5, ", dear ");
+
+        Assert.assertEquals("Hello, dear World", gb.toString());
+        Assert.assertEquals(40, gb.getCapacity());
+    }
+
+    @Test
+    public void testGrowthMovesTheGapBothWays() {
+        GapBuilder builder = new GapBuilder(0, new ExactFitGrowthPolicy());
+
+        builder.append("0123456789").insert(3, "ab").insert(8, "cd").insert(1, "ef").insert(16, "gh");
+
+        Assert.assertEquals("0ef12ab345cd6789gh", builder.toString());
+        Assert.assertEquals(18, builder.getCapacity());
+    }
+
+    @Test
+    public void testEditBurstAroundCursor() {
+        gb.append("template: {name} is {age}");
+
+        gb.delete(10, 16);
+        gb.insert(10, "Alice");
+        gb.deleteCharAt(gb.indexOf("{"));
+        gb.deleteCharAt(gb.indexOf("}"));
+        gb.insert(gb.indexOf("age"), 3);
+        gb.delete(gb.indexOf("age"), gb.indexOf("age") + 3);
+
+        Assert.assertEquals("template: Alice is 3", gb.toString());
+    }
+
+    @Test
+    public void testCharAtOnBothSidesOfTheGap() {
+        gb.append("ABCDEF");
+        gb.insert(3, 'x');
+
+        Assert.assertEquals('C', gb.charAt(2));
+        Assert.assertEquals('x', gb.charAt(3));
+        Assert.assertEquals('D', gb.charAt(4));
+        Assert.assertEquals('F', gb.charAt(6));
+    }
+
+    @Test
+    public void testSearchAcrossTheGap() {
+        gb.append("HelloHello");
+        gb.insert(4, "");
+        gb.deleteCharAt(4);
+        gb.insert(4, 'o');
+
+        Assert.assertEquals(3, gb.indexOf("loH"));
+        Assert.assertEquals(5, gb.indexOf("H", 1));
+        Assert.assertEquals(7, gb.lastIndexOf("llo"));
+        Assert.assertEquals(2, gb.lastIndexOf("llo", 6));
+        Assert.assertEquals(-1, gb.indexOf("xyz"));
+    }
+
+    @Test
+    public void testContainsStartsWithEndsWithCount() {
+        gb.append("a,b,c");
+        gb.insert(2, ",");
+
+        Assert.assertTrue(gb.contains(",,"));
+        Assert.assertTrue(gb.startsWith("a,,"));
+        Assert.assertTrue(gb.endsWith("b,c"));
+        Assert.assertEquals(3, gb.count(","));
+    }
+
+    @Test
+    public void testReverse() {
+        gb.append("Dmy");
+        gb.insert(1, "um");
+
+        Assert.assertEquals("ymmuD", gb.reverse().toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDeleteOutOfRange() {
+        gb.append("Test");
+        gb.delete(2, 5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetElementOutOfRange() {
+        gb.append("Test");
+        gb.charAt(4);
+    }
+
+    @Test
+    public void testWriteToAcrossTheGap() throws Exception {
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            expected.append("\ud83d\ude00").append(i);
+        }
+
+        gb.append(expected);
+        gb.insert(4097, 'x');
+        expected.insert(4097, 'x');
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gb.writeTo(out, StandardCharsets.UTF_8);
+
+        Assert.assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    public void testSubSequenceCopiesAcrossGap() {
+        gb.append("hello world");
+        gb.insert(5, ',');
+
+        CharSequence slice = gb.subSequence(3, 9);
+        gb.delete(0, 3);
+
+        Assert.assertEquals("lo, wo", slice.toString());
+        Assert.assertTrue(java.util.regex.Pattern.compile("lo, w").matcher(gb).find());
+    }
+
+    @Test
+    public void testReplaceOperations() {
+        gb.append("k=v; k2=v2;");
+
+        gb.replaceAll(";", "\n").replace(0, 1, "key").deleteAll(' ');
+        Assert.assertEquals("key=v\nk2=v2\n", gb.toString());
+
+        gb.deleteRanges(new int[] { 0, 6 }, new int[] { 4, 9 });
+        Assert.assertEquals("v\nv2\n", gb.toString());
+    }
+
+    @Test
+    public void testBulkAppends() {
+        gb.appendAll("a", "b").join("|", "{", "}", List.of("x", "y")).appendRepeated("-", 3);
+
+        Assert.assertEquals("ab{x|y}---", gb.toString());
+    }
+
+    @Test
+    public void testBulkAppendsOfItself() {
+        gb.append("ab").appendAll("x", gb);
+        Assert.assertEquals("abxab", gb.toString());
+
+        gb = new GapBuilder();
+        gb.append("ab").appendAll(List.of(gb, "y"));
+        Assert.assertEquals("ababy", gb.toString());
+
+        gb = new GapBuilder();
+        gb.append("ab").join(",", "[", "]", List.of("x", gb));
+        Assert.assertEquals("ab[x,ab]", gb.toString());
+    }
+
+    @Test
+    public void testBulkAppendsGrowOnce() {
+        int[] grows = new int[1];
+        GapBuilder builder = new GapBuilder(0, new GrowthPolicy() {
+            @Override
+            public int getThreshold(int capacity) {
+                return capacity;
+            }
+
+            @Override
+            public int getNewCapacity(int currentCapacity, int requiredLength) {
+                grows[0]++;
+                return requiredLength;
+            }
+        });
+
+        builder.appendAll("ab", "cd", "ef");
+        Assert.assertEquals(1, grows[0]);
+
+        builder.appendAll(List.of("gh", "ij"));
+        Assert.assertEquals(2, grows[0]);
+
+        builder.join(",", "[", "]", List.of("k", "l", "m"));
+        Assert.assertEquals(3, grows[0]);
+
+        builder.appendRepeated("no", 4);
+        Assert.assertEquals(4, grows[0]);
+        Assert.assertEquals("abcdefghij[k,l,m]nononono", builder.toString());
+    }
+}
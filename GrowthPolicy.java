@@ -0,0 +1,28 @@
+package Coding.StringBuilder;
+
+/**
+ * Decides when a builder has to grow and how large the new array should be.
+ * Both decisions are made with integer math in constant time.
+ */
+public interface GrowthPolicy {
+
+    /**
+     * Largest array the policies will ask for, some VMs reserve a few header words in an array.
+     */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The number of chars an array of the given capacity may hold before the builder has to grow.
+     *
+     * @param capacity
+     */
+    int getThreshold(int capacity);
+
+    /**
+     * The capacity to grow to, so that the required number of chars is within the threshold of the new array.
+     *
+     * @param currentCapacity
+     * @param requiredLength
+     */
+    int getNewCapacity(int currentCapacity, int requiredLength);
+}
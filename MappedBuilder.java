@@ -0,0 +1,784 @@
+package Coding.StringBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Builder that stores its content in a file mapped into memory, for content that is larger than the heap or
+ * than an int can index. The file is mapped in regions of a fixed power-of-two size, so growing maps one more
+ * region and never copies, and finding the region of a position is a shift and a mask like in ChunkedBuilder.
+ * The chars are stored as UTF-16LE, two bytes each, so the file can be read at any offset.
+ * <p>
+ * Positions are longs: size, charAt(long), getChars(long, long, ...), delete(long, long), setLength and the
+ * searches taking a long work on any content. The int methods of Builder work while the content fits an int,
+ * length() throws ArithmeticException beyond that. finish() truncates the file to the content and closes it,
+ * so it can be handed over as it is. The regions are unmapped before, through the same cleaner OffHeapBuilder
+ * frees its memory with; where the cleaner is not reachable they stay mapped until collected, and truncating
+ * the file fails on Windows.
+ */
+public class MappedBuilder implements Builder, Closeable {
+
+    /**
+     * Encoding of the chars in the file.
+     */
+    public final static Charset CHARSET = StandardCharsets.UTF_16LE;
+
+    private final static int DEFAULT_REGION_SIZE = 1 << 24;
+
+    private final static int MAX_REGION_SIZE = 1 << 29;
+
+    private final static int DEFAULT_REGION_COUNT = 4;
+
+    private final static int TRANSFER_SIZE = 8192;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final int regionShift;
+
+    private final int regionMask;
+
+    private MappedByteBuffer[] mappings;
+
+    private CharBuffer[] regions;
+
+    private int regionCount = 0;
+
+    private long size = 0;
+
+    /**
+     * Length up to which the file may hold chars, past it the mapped regions are still zero.
+     */
+    private long highWaterMark = 0;
+
+    /**
+     * Staging for copies between the file and the heap, and for moving content inside the file.
+     */
+    private final char[] transfer = new char[TRANSFER_SIZE];
+
+    private final char[] digits = new char[FloatingDigits.MAX_DOUBLE_LENGTH];
+
+    /**
+     * Builder on a new temporary file.
+     */
+    public MappedBuilder() throws IOException {
+        this(Files.createTempFile("builder", ".txt"));
+    }
+
+    /**
+     * Builder on the named file, which is created or truncated.
+     */
+    public MappedBuilder(Path path) throws IOException {
+        this(path, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * @param path       the file, which is created or truncated
+     * @param regionSize chars per mapped region, a power of two up to 2^29
+     */
+    public MappedBuilder(Path path, int regionSize) throws IOException {
+        if (path == null || regionSize <= 0 || regionSize > MAX_REGION_SIZE || Integer.bitCount(regionSize) != 1) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.path = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        regionShift = Integer.numberOfTrailingZeros(regionSize);
+        regionMask = regionSize - 1;
+        mappings = new MappedByteBuffer[DEFAULT_REGION_COUNT];
+        regions = new CharBuffer[DEFAULT_REGION_COUNT];
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * The number of chars, which unlike length() may exceed an int.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @throws ArithmeticException if the content is longer than an int can hold, use size() then
+     */
+    @Override
+    public int length() {
+        checkOpen();
+
+        return Math.toIntExact(size);
+    }
+
+    @Override
+    public char charAt(int position) {
+        return charAt((long) position);
+    }
+
+    public char charAt(long position) {
+        checkOpen();
+
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return get(position);
+    }
+
+    /**
+     * The mapped capacity in chars, capped at Integer.MAX_VALUE.
+     */
+    @Override
+    public int getCapacity() {
+        checkOpen();
+
+        return (int) Math.min((long) regionCount << regionShift, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Truncate the content to the new length, or pad it with '\0' up to it.
+     */
+    public void setLength(long newLength) {
+        checkOpen();
+
+        if (newLength < 0) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        if (newLength > size) {
+            ensureCapacity(newLength);
+            Arrays.fill(transfer, '\0');
+
+            for (long position = size, end = Math.min(newLength, highWaterMark); position < end; ) {
+                int count = (int) Math.min(end - position, TRANSFER_SIZE);
+
+                put(position, transfer, 0, count);
+                position += count;
+            }
+        }
+
+        updateSize(newLength);
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        checkOpen();
+
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return delete(position, position + 1);
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        return delete((long) start, end);
+    }
+
+    public Builder delete(long start, long end) {
+        checkOpen();
+
+        if ((start < 0 || end < 0) || (start >= size) || (end > size) || (start > end)) {
+            throw new IndexOutOfBoundsException("Index out ouf range.");
+        }
+
+        move(end, start, size - end);
+        updateSize(size - (end - start));
+
+        return this;
+    }
+
+    /**
+     * Swap blocks from both ends inward, each reversed on the heap.
+     */
+    @Override
+    public Builder reverse() {
+        checkOpen();
+
+        char[] other = new char[TRANSFER_SIZE];
+
+        for (long left = 0, right = size; right - left > 1; ) {
+            int count = (int) Math.min(TRANSFER_SIZE, (right - left) / 2);
+
+            get(left, transfer, 0, count);
+            get(right - count, other, 0, count);
+            CharArrayOperations.INSTANCE.reverse(transfer, count);
+            CharArrayOperations.INSTANCE.reverse(other, count);
+            put(left, other, 0, count);
+            put(right - count, transfer, 0, count);
+            left += count;
+            right -= count;
+        }
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return Math.toIntExact(lastIndexOf(value, size));
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        return Math.toIntExact(lastIndexOf(value, (long) fromIndex));
+    }
+
+    public long lastIndexOf(String value, long fromIndex) {
+        checkOpen();
+
+        int valueLength = value.length();
+        long start = Math.min(fromIndex, size - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        for (long i = lastIndexOf(first, start); i >= 0; i = lastIndexOf(first, i - 1)) {
+            if (regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return indexOf(value, 0);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        return Math.toIntExact(indexOf(value, (long) fromIndex));
+    }
+
+    public long indexOf(String value, long fromIndex) {
+        checkOpen();
+
+        int valueLength = value.length();
+        long start = Math.max(fromIndex, 0);
+
+        if (start >= size) {
+            return valueLength == 0 ? size : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        long last = size - valueLength;
+        for (long i = indexOf(first, start); i >= 0 && i <= last; i = indexOf(first, i + 1)) {
+            if (regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int indexOf(char value, int fromIndex) {
+        return Math.toIntExact(indexOf(value, (long) fromIndex));
+    }
+
+    /**
+     * Scan block by block, each copied to the heap for the vectorized single char search.
+     */
+    public long indexOf(char value, long fromIndex) {
+        checkOpen();
+
+        for (long position = Math.max(fromIndex, 0); position < size; ) {
+            int count = (int) Math.min(size - position, TRANSFER_SIZE);
+
+            get(position, transfer, 0, count);
+
+            int found = CharArrayOperations.INSTANCE.indexOf(transfer, count, value, 0);
+
+            if (found >= 0) {
+                return position + found;
+            }
+
+            position += count;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(char value, int fromIndex) {
+        return Math.toIntExact(lastIndexOf(value, (long) fromIndex));
+    }
+
+    public long lastIndexOf(char value, long fromIndex) {
+        checkOpen();
+
+        for (long end = Math.min(fromIndex, size - 1) + 1; end > 0; ) {
+            int count = (int) Math.min(end, TRANSFER_SIZE);
+            long start = end - count;
+
+            get(start, transfer, 0, count);
+
+            int found = CharArrayOperations.INSTANCE.lastIndexOf(transfer, count, value, count - 1);
+
+            if (found >= 0) {
+                return start + found;
+            }
+
+            end = start;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Builder append(char value) {
+        ensureCapacity(size + 1);
+
+        put(size, value);
+        updateSize(size + 1);
+
+        return this;
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        return putChars(size, charSequence, charSequence.length);
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        return putChars(offset, charSequence, length);
+    }
+
+    @Override
+    public Builder append(String value) {
+        return append((CharSequence) value, 0, value.length());
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return putCharSequence(size, value, start, end);
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        return putChars(size, value ? TRUE_CHARS : FALSE_CHARS, value ? TRUE_CHARS.length : FALSE_CHARS.length);
+    }
+
+    @Override
+    public Builder append(int value) {
+        return insertDigits(size, value);
+    }
+
+    @Override
+    public Builder append(long value) {
+        return insertDigits(size, value);
+    }
+
+    @Override
+    public Builder append(float value) {
+        return putChars(size, digits, FloatingDigits.getChars(value, digits, 0));
+    }
+
+    @Override
+    public Builder append(double value) {
+        return putChars(size, digits, FloatingDigits.getChars(value, digits, 0));
+    }
+
+    @Override
+    public Builder append(Object object) {
+        return append(object.toString());
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        openGap(offset, 1);
+
+        put(offset, value);
+        updateSize(size + 1);
+
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        return putChars(offset, charSequence, charSequence.length);
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        return insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        if (value == this) {
+            value = this.toString();
+        }
+
+        return putCharSequence(offset, value, 0, value.length());
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        return insertDigits(offset, value);
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        return insertDigits(offset, value);
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        return putChars(offset, digits, FloatingDigits.getChars(value, digits, 0));
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        return putChars(offset, digits, FloatingDigits.getChars(value, digits, 0));
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        return putChars(offset, value ? TRUE_CHARS : FALSE_CHARS, value ? TRUE_CHARS.length : FALSE_CHARS.length);
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    @Override
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        getChars((long) srcBegin, srcEnd, dst, dstBegin);
+    }
+
+    /**
+     * Copy the chars between srcBegin and srcEnd into the destination array, the same way String.getChars does.
+     */
+    public void getChars(long srcBegin, long srcEnd, char[] dst, int dstBegin) {
+        checkOpen();
+
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > size || srcEnd - srcBegin > dst.length - dstBegin) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        get(srcBegin, dst, dstBegin, (int) (srcEnd - srcBegin));
+    }
+
+    /**
+     * Content in UTF-16LE is transferred straight from the file, other charsets are encoded block by block.
+     */
+    @Override
+    public long writeTo(WritableByteChannel target, Charset charset) throws IOException {
+        checkOpen();
+
+        if (!CHARSET.equals(charset)) {
+            return Builder.super.writeTo(target, charset);
+        }
+
+        long bytes = size * 2;
+
+        for (long position = 0; position < bytes; ) {
+            position += channel.transferTo(position, bytes - position, target);
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        checkOpen();
+
+        char[] result = new char[length()];
+
+        get(0, result, 0, result.length);
+
+        return new String(result);
+    }
+
+    @Override
+    public void ensureCapacity(int minimumCapacity) {
+        ensureCapacity((long) minimumCapacity);
+    }
+
+    /**
+     * Map regions until the given number of chars fits.
+     */
+    public void ensureCapacity(long minimumCapacity) {
+        checkOpen();
+
+        if (minimumCapacity < 0 || minimumCapacity > Long.MAX_VALUE / 2 - regionMask) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum file size.");
+        }
+
+        long requiredRegions = (minimumCapacity + regionMask) >>> regionShift;
+
+        if (requiredRegions > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum file size.");
+        }
+
+        if (requiredRegions > regions.length) {
+            int length = (int) Math.max(requiredRegions, Math.min(regions.length * 2L, Integer.MAX_VALUE - 8));
+
+            mappings = Arrays.copyOf(mappings, length);
+            regions = Arrays.copyOf(regions, length);
+        }
+
+        while (regionCount < requiredRegions) {
+            long regionBytes = (long) (regionMask + 1) << 1;
+
+            try {
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, regionCount * regionBytes,
+                        regionBytes);
+
+                mappings[regionCount] = mapping;
+                regions[regionCount++] = mapping.order(ByteOrder.LITTLE_ENDIAN).asCharBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Write the changes of the mapped regions that hold content to the storage device.
+     */
+    public void force() {
+        checkOpen();
+
+        long usedRegions = (size + regionMask) >>> regionShift;
+
+        for (int i = 0; i < usedRegions; i++) {
+            mappings[i].force();
+        }
+    }
+
+    /**
+     * Force the content to storage, unmap the regions, truncate the file to the content and close it. The file then
+     * holds exactly the content in UTF-16LE; size() returns 0, getPath() and finish() still return the path and
+     * every other method throws IllegalStateException.
+     *
+     * @return the path of the file
+     */
+    public Path finish() throws IOException {
+        if (regions == null) {
+            return path;
+        }
+
+        force();
+
+        long bytes = size * 2;
+
+        for (int i = 0; i < regionCount; i++) {
+            DirectBuffers.free(mappings[i]);
+        }
+
+        mappings = null;
+        regions = null;
+        regionCount = 0;
+        size = 0;
+        highWaterMark = 0;
+
+        try {
+            channel.truncate(bytes);
+        } finally {
+            channel.close();
+        }
+
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private Builder insertDigits(long offset, int value) {
+        int length = Digits.getDigitCount(value);
+
+        Digits.getChars(value, length, digits);
+
+        return putChars(offset, digits, length);
+    }
+
+    private Builder insertDigits(long offset, long value) {
+        int length = Digits.getDigitCount(value);
+
+        Digits.getChars(value, length, digits);
+
+        return putChars(offset, digits, length);
+    }
+
+    private Builder putChars(long offset, char[] source, int length) {
+        openGap(offset, length);
+
+        put(offset, source, 0, length);
+        updateSize(size + length);
+
+        return this;
+    }
+
+    private Builder putCharSequence(long offset, CharSequence value, int start, int end) {
+        openGap(offset, end - start);
+
+        for (long position = offset, i = start; i < end; ) {
+            int count = (int) Math.min(end - i, TRANSFER_SIZE);
+
+            if (value instanceof String) {
+                ((String) value).getChars((int) i, (int) i + count, transfer, 0);
+            } else if (value instanceof Builder) {
+                ((Builder) value).getChars((int) i, (int) i + count, transfer, 0);
+            } else {
+                for (int j = 0; j < count; j++) {
+                    transfer[j] = value.charAt((int) i + j);
+                }
+            }
+
+            put(position, transfer, 0, count);
+            position += count;
+            i += count;
+        }
+
+        updateSize(size + (end - start));
+
+        return this;
+    }
+
+    /**
+     * Make room for length chars at the offset, shifting the content after it to the right.
+     */
+    private void openGap(long offset, long length) {
+        if (offset < 0 || offset > size) {
+            throw new InvalidParameterException("Index out of range.");
+        }
+
+        ensureCapacity(size + length);
+        move(offset, offset + length, size - offset);
+    }
+
+    /**
+     * Copy length chars from one position to another through the heap, correct for overlapping ranges:
+     * to the right it copies back to front, to the left front to back.
+     */
+    private void move(long from, long to, long length) {
+        if (length == 0 || from == to) {
+            return;
+        }
+
+        if (to > from) {
+            for (long remaining = length; remaining > 0; ) {
+                int count = (int) Math.min(remaining, TRANSFER_SIZE);
+
+                remaining -= count;
+                get(from + remaining, transfer, 0, count);
+                put(to + remaining, transfer, 0, count);
+            }
+        } else {
+            for (long done = 0; done < length; ) {
+                int count = (int) Math.min(length - done, TRANSFER_SIZE);
+
+                get(from + done, transfer, 0, count);
+                put(to + done, transfer, 0, count);
+                done += count;
+            }
+        }
+    }
+
+    private char get(long position) {
+        return regions[(int) (position >>> regionShift)].get((int) position & regionMask);
+    }
+
+    private void put(long position, char value) {
+        regions[(int) (position >>> regionShift)].put((int) position & regionMask, value);
+    }
+
+    /**
+     * Copy chars of the file into the array, across region boundaries.
+     */
+    private void get(long position, char[] target, int targetOffset, int length) {
+        while (length > 0) {
+            int regionOffset = (int) position & regionMask;
+            int count = Math.min(length, regionMask + 1 - regionOffset);
+
+            regions[(int) (position >>> regionShift)].get(regionOffset, target, targetOffset, count);
+            position += count;
+            targetOffset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Copy chars of the array into the file, across region boundaries.
+     */
+    private void put(long position, char[] source, int sourceOffset, int length) {
+        while (length > 0) {
+            int regionOffset = (int) position & regionMask;
+            int count = Math.min(length, regionMask + 1 - regionOffset);
+
+            regions[(int) (position >>> regionShift)].put(regionOffset, source, sourceOffset, count);
+            position += count;
+            sourceOffset += count;
+            length -= count;
+        }
+    }
+
+    private boolean regionMatches(long position, String value) {
+        for (int j = 1; j < value.length(); j++) {
+            if (get(position + j) != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void checkOpen() {
+        if (regions == null) {
+            throw new IllegalStateException("Builder is closed.");
+        }
+    }
+
+    private void updateSize(long newSize) {
+        size = newSize;
+
+        if (newSize > highWaterMark) {
+            highWaterMark = newSize;
+        }
+    }
+}
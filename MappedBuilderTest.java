@@ -0,0 +1,136 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.InvalidParameterException;
+
+public class MappedBuilderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAppendAcrossRegions() throws IOException {
+        try (MappedBuilder mb = new MappedBuilder(folder.newFile().toPath(), 8)) {
+            mb.append("0123456789").append(42).append('-').append(-7L).append(true).append(1.5).append(0.25f);
+
+            Assert.assertEquals("012345678942--7true1.50.25", mb.toString());
+            Assert.assertEquals(26, mb.size());
+            Assert.assertEquals('9', mb.charAt(9L));
+            Assert.assertEquals(32, mb.getCapacity());
+        }
+    }
+
+    @Test
+    public void testEditsAndSearches() throws IOException {
+        try (MappedBuilder mb = new MappedBuilder(folder.newFile().toPath(), 4)) {
+            mb.append("hello world");
+            mb.insert(5, ",").insert(0, '>').delete(7, 8);
+
+            Assert.assertEquals(">hello,world", mb.toString());
+            Assert.assertEquals(7, mb.indexOf("world"));
+            Assert.assertEquals(3, mb.indexOf('l'));
+            Assert.assertEquals(10, mb.lastIndexOf('l'));
+            Assert.assertEquals(4, mb.lastIndexOf("l", 5));
+            Assert.assertEquals(-1, mb.indexOf("worlds"));
+
+            mb.reverse();
+            Assert.assertEquals("dlrow,olleh>", mb.toString());
+
+            mb.setLength(3);
+            mb.setLength(5);
+            Assert.assertEquals("dlr\0\0", mb.toString());
+
+            mb.append(mb);
+            Assert.assertEquals("dlr\0\0dlr\0\0", mb.toString());
+        }
+    }
+
+    @Test
+    public void testFinishHandsOverTheFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        MappedBuilder mb = new MappedBuilder(file, 1024);
+
+        mb.append("caf\u00e9 \u4e2d\u6587");
+        mb.force();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(14, mb.writeTo(Channels.newChannel(out), MappedBuilder.CHARSET));
+        Assert.assertEquals("caf\u00e9 \u4e2d\u6587", out.toString(StandardCharsets.UTF_16LE));
+
+        Assert.assertEquals(file, mb.finish());
+        Assert.assertEquals(14, Files.size(file));
+        Assert.assertEquals("caf\u00e9 \u4e2d\u6587", Files.readString(file, MappedBuilder.CHARSET));
+        Assert.assertEquals(0, mb.size());
+        Assert.assertEquals(file, mb.finish());
+
+        for (Runnable call : new Runnable[] { () -> mb.append('x'), mb::toString, () -> mb.charAt(0),
+                () -> mb.indexOf('c'), mb::force, () -> mb.insert(0, "x"), mb::length, mb::getCapacity,
+                () -> mb.deleteCharAt(0) }) {
+            try {
+                call.run();
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("Builder is closed.", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testFloatingPointMatchesToString() throws IOException {
+        try (MappedBuilder mb = new MappedBuilder(folder.newFile().toPath(), 1024)) {
+            java.lang.StringBuilder expected = new java.lang.StringBuilder();
+            java.util.Random random = new java.util.Random(24);
+
+            for (int i = 0; i < 2_000; i++) {
+                double d = Double.longBitsToDouble(random.nextLong());
+                float f = Float.intBitsToFloat(random.nextInt());
+
+                mb.append(d).append(' ').insert(0, f);
+                expected.append(d).append(' ').insert(0, f);
+            }
+
+            Assert.assertEquals(expected.toString(), mb.toString());
+        }
+    }
+
+    /**
+     * Maps a sparse file of several gigabytes, which is only cheap where the filesystem supports sparse files,
+     * so it runs with -DCoding.StringBuilder.largeFiles=true.
+     */
+    @Test
+    public void testContentBeyondIntRange() throws IOException {
+        Assume.assumeTrue(Boolean.getBoolean("Coding.StringBuilder.largeFiles"));
+
+        try (MappedBuilder mb = new MappedBuilder(folder.newFile().toPath(), 1 << 29)) {
+            long start = 3L << 30;
+
+            mb.setLength(start);
+            mb.append("tail");
+
+            Assert.assertEquals(start + 4, mb.size());
+            Assert.assertEquals('t', mb.charAt(start));
+            Assert.assertEquals('\0', mb.charAt(start - 1));
+            Assert.assertEquals(start + 2, mb.indexOf('i', start - 10));
+            Assert.assertEquals(start, mb.lastIndexOf("tail", start + 4));
+
+            mb.delete(start - 2, start);
+            Assert.assertEquals('l', mb.charAt(start + 1));
+        }
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testRegionSizeMustBePowerOfTwo() throws IOException {
+        new MappedBuilder(folder.newFile().toPath(), 12);
+    }
+}
@@ -0,0 +1,365 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * A set of patterns compiled once into an Aho-Corasick automaton, which finds every occurrence of all of them in
+ * a single pass over the text. The chars used by the patterns are mapped to a few classes (Latin-1 through a
+ * table, others by binary search) and the automaton is stored as one dense transition table with a row of classes
+ * per state, so every char costs a lookup and an array read whatever the number of patterns.
+ * Compiled patterns are immutable and can be shared between threads.
+ */
+public final class MultiPattern {
+
+    /**
+     * Receives the matches of a scan, ordered by where they end; matches ending at the same position come
+     * longest first.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+
+        void onMatch(int pattern, int start);
+    }
+
+    private final static int LATIN1_SIZE = 256;
+
+    private final String[] patterns;
+
+    private final int[] latin1Classes;
+
+    private final char[] otherChars;
+
+    private final int[] otherClasses;
+
+    private final int classCount;
+
+    /**
+     * Next state for state s and class c at s * classCount + c.
+     */
+    private final int[] transitions;
+
+    /**
+     * The state itself when a pattern ends there, else the nearest such state on its failure chain, 0 for none.
+     */
+    private final int[] matchStates;
+
+    /**
+     * The nearest state with patterns ending there on the failure chain of a match state, 0 for none.
+     */
+    private final int[] nextMatchStates;
+
+    /**
+     * Patterns ending at state s are outputs[outputStarts[s]] up to outputs[outputStarts[s + 1]].
+     */
+    private final int[] outputStarts;
+
+    private final int[] outputs;
+
+    private MultiPattern(String[] patterns, int[] latin1Classes, char[] otherChars, int[] otherClasses,
+                         int classCount, int[] transitions, int[] matchStates, int[] nextMatchStates,
+                         int[] outputStarts, int[] outputs) {
+        this.patterns = patterns;
+        this.latin1Classes = latin1Classes;
+        this.otherChars = otherChars;
+        this.otherClasses = otherClasses;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.matchStates = matchStates;
+        this.nextMatchStates = nextMatchStates;
+        this.outputStarts = outputStarts;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Compile the patterns, which are identified by their index in the matches.
+     *
+     * @param patterns non-empty strings
+     */
+    public static MultiPattern compile(String... patterns) {
+        if (patterns == null || patterns.length == 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        patterns = patterns.clone();
+
+        // alphabet: class 0 stands for every char no pattern uses
+        int[] latin1Classes = new int[LATIN1_SIZE];
+        char[] others = new char[16];
+        int otherCount = 0;
+        int classCount = 1;
+        long trieSize = 1;
+
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                throw new InvalidParameterException("Invalid value.");
+            }
+
+            trieSize += pattern.length();
+
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+
+                if (c < LATIN1_SIZE) {
+                    if (latin1Classes[c] == 0) {
+                        latin1Classes[c] = classCount++;
+                    }
+                } else {
+                    if (otherCount == others.length) {
+                        others = Arrays.copyOf(others, otherCount * 2);
+                    }
+
+                    others[otherCount++] = c;
+                }
+            }
+        }
+
+        others = Arrays.copyOf(others, otherCount);
+        Arrays.sort(others);
+
+        char[] otherChars = new char[otherCount];
+        int[] otherClasses = new int[otherCount];
+        int distinctOthers = 0;
+
+        for (int i = 0; i < otherCount; i++) {
+            if (distinctOthers == 0 || otherChars[distinctOthers - 1] != others[i]) {
+                otherChars[distinctOthers] = others[i];
+                otherClasses[distinctOthers++] = classCount++;
+            }
+        }
+
+        otherChars = Arrays.copyOf(otherChars, distinctOthers);
+        otherClasses = Arrays.copyOf(otherClasses, distinctOthers);
+
+        if (trieSize * classCount > GrowthPolicy.MAX_CAPACITY) {
+            throw new InvalidParameterException("Too many patterns.");
+        }
+
+        // trie, where 0 in a row means no edge since no edge leads back to the root
+        int[] transitions = new int[(int) trieSize * classCount];
+        int[] patternStates = new int[patterns.length];
+        int stateCount = 1;
+
+        for (int p = 0; p < patterns.length; p++) {
+            String pattern = patterns[p];
+            int state = 0;
+
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = state * classCount + classOf(pattern.charAt(i), latin1Classes, otherChars, otherClasses);
+
+                if (transitions[slot] == 0) {
+                    transitions[slot] = stateCount++;
+                }
+
+                state = transitions[slot];
+            }
+
+            patternStates[p] = state;
+        }
+
+        transitions = Arrays.copyOf(transitions, stateCount * classCount);
+
+        // outputs per state, in pattern order
+        int[] outputStarts = new int[stateCount + 1];
+
+        for (int state : patternStates) {
+            outputStarts[state + 1]++;
+        }
+
+        for (int s = 0; s < stateCount; s++) {
+            outputStarts[s + 1] += outputStarts[s];
+        }
+
+        int[] outputs = new int[patterns.length];
+        int[] filled = Arrays.copyOf(outputStarts, stateCount);
+
+        for (int p = 0; p < patterns.length; p++) {
+            outputs[filled[patternStates[p]]++] = p;
+        }
+
+        // breadth first: failure links, missing edges filled in from the failure state, and match links
+        int[] failures = new int[stateCount];
+        int[] matchStates = new int[stateCount];
+        int[] nextMatchStates = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+
+        for (int c = 0; c < classCount; c++) {
+            int child = transitions[c];
+
+            if (child != 0) {
+                queue[tail++] = child;
+            }
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            int failure = failures[state];
+            boolean hasOutputs = outputStarts[state + 1] > outputStarts[state];
+
+            nextMatchStates[state] = matchStates[failure];
+            matchStates[state] = hasOutputs ? state : matchStates[failure];
+
+            for (int c = 0; c < classCount; c++) {
+                int slot = state * classCount + c;
+                int child = transitions[slot];
+
+                if (child != 0) {
+                    failures[child] = transitions[failure * classCount + c];
+                    queue[tail++] = child;
+                } else {
+                    transitions[slot] = transitions[failure * classCount + c];
+                }
+            }
+        }
+
+        return new MultiPattern(patterns, latin1Classes, otherChars, otherClasses, classCount, transitions,
+                matchStates, nextMatchStates, outputStarts, outputs);
+    }
+
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    public String getPattern(int pattern) {
+        return patterns[pattern];
+    }
+
+    /**
+     * Report every occurrence of every pattern in the text, overlapping ones included.
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * classCount + classOf(text.charAt(i))];
+
+            if (matchStates[state] != 0) {
+                report(state, i + 1, handler);
+            }
+        }
+    }
+
+    void scan(char[] text, int length, MatchHandler handler) {
+        int state = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            int charClass = c < LATIN1_SIZE ? latin1Classes[c] : classOf(c);
+
+            state = transitions[state * classCount + charClass];
+
+            if (matchStates[state] != 0) {
+                report(state, i + 1, handler);
+            }
+        }
+    }
+
+    /**
+     * The matches a left to right replacement uses: at every position the longest match starting there, skipping
+     * matches that overlap the one chosen before.
+     *
+     * @return pairs of start and pattern, ordered by start
+     */
+    int[] selectLeftmostLongest(CharSequence text) {
+        Candidates candidates = new Candidates();
+        scan(text, candidates);
+
+        return candidates.select();
+    }
+
+    int[] selectLeftmostLongest(char[] text, int length) {
+        Candidates candidates = new Candidates();
+        scan(text, length, candidates);
+
+        return candidates.select();
+    }
+
+    private void report(int state, int end, MatchHandler handler) {
+        for (int match = matchStates[state]; match != 0; match = nextMatchStates[match]) {
+            for (int o = outputStarts[match]; o < outputStarts[match + 1]; o++) {
+                int pattern = outputs[o];
+                handler.onMatch(pattern, end - patterns[pattern].length());
+            }
+        }
+    }
+
+    private int classOf(char c) {
+        return classOf(c, latin1Classes, otherChars, otherClasses);
+    }
+
+    private static int classOf(char c, int[] latin1Classes, char[] otherChars, int[] otherClasses) {
+        if (c < LATIN1_SIZE) {
+            return latin1Classes[c];
+        }
+
+        int position = Arrays.binarySearch(otherChars, c);
+
+        return position >= 0 ? otherClasses[position] : 0;
+    }
+
+    /**
+     * Collects every match, since one that is not the longest at its end can still be the one a replacement uses.
+     */
+    private final class Candidates implements MatchHandler {
+
+        private int[] starts = new int[16];
+
+        private int[] ends = new int[16];
+
+        private int[] ids = new int[16];
+
+        private int count = 0;
+
+        @Override
+        public void onMatch(int pattern, int start) {
+            int end = start + patterns[pattern].length();
+
+            // a duplicate pattern matches right after the first one with that text, which takes precedence
+            if (count > 0 && starts[count - 1] == start && ends[count - 1] == end) {
+                return;
+            }
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+
+            starts[count] = start;
+            ends[count] = end;
+            ids[count++] = pattern;
+        }
+
+        /**
+         * Sort by start and, for the same start, by the later end first (matches are collected by end), then take
+         * them greedily.
+         */
+        private int[] select() {
+            long[] keys = new long[count];
+
+            for (int i = 0; i < count; i++) {
+                keys[i] = (long) starts[i] << 32 | (Integer.MAX_VALUE - i);
+            }
+
+            Arrays.sort(keys);
+
+            int[] selected = new int[2 * count];
+            int size = 0;
+            int cursor = 0;
+
+            for (long key : keys) {
+                int i = Integer.MAX_VALUE - (int) key;
+
+                if (starts[i] >= cursor) {
+                    selected[size++] = starts[i];
+                    selected[size++] = ids[i];
+                    cursor = ends[i];
+                }
+            }
+
+            return Arrays.copyOf(selected, size);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MultiPatternTest {
+
+    @Test
+    public void testFindsOverlappingMatches() {
+        MultiPattern patterns = MultiPattern.compile("he", "she", "his", "hers");
+        StringBuilder sb = new StringBuilder();
+        List<String> matches = new ArrayList<>();
+
+        sb.append("ushers and his");
+        sb.findAll(patterns, (pattern, start) -> matches.add(patterns.getPattern(pattern) + "@" + start));
+
+        Assert.assertEquals(List.of("she@1", "he@2", "hers@2", "his@11"), matches);
+    }
+
+    @Test
+    public void testNonLatin1Patterns() {
+        MultiPattern patterns = MultiPattern.compile("\u4e2d\u6587", "caf\u00e9");
+        List<Integer> starts = new ArrayList<>();
+
+        patterns.scan("un caf\u00e9 \u4e2d\u6587 \u4e2d", (pattern, start) -> starts.add(start));
+
+        Assert.assertEquals(List.of(3, 8), starts);
+    }
+
+    @Test
+    public void testReplaceAllTakesLeftmostLongest() {
+        MultiPattern patterns = MultiPattern.compile("secret", "secretkey", "key", "pw");
+        CharSequence[] replacements = { "***", "[key]", "k", "[password-redacted]" };
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("secretkey=1 pw=secret key=2");
+        sb.replaceAll(patterns, replacements);
+        Assert.assertEquals("[key]=1 [password-redacted]=*** k=2", sb.toString());
+
+        sb = new StringBuilder();
+        sb.append("pw pw secretkey");
+        sb.replaceAll(patterns, new CharSequence[] { "", "", "", "" });
+        Assert.assertEquals("  ", sb.toString());
+
+        GapBuilder gb = new GapBuilder();
+        gb.append("secretkey=1 pw=secret key=2");
+        gb.replaceAll(patterns, replacements);
+        Assert.assertEquals("[key]=1 [password-redacted]=*** k=2", gb.toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testEmptyPattern() {
+        MultiPattern.compile("a", "");
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testReplacementCountMismatch() {
+        new StringBuilder().append("a").replaceAll(MultiPattern.compile("a", "b"), new CharSequence[] { "x" });
+    }
+}
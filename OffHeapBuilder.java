@@ -0,0 +1,457 @@
+package Coding.StringBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.security.InvalidParameterException;
+
+/**
+ * Builder keeping its chars outside of the Java heap, in a direct buffer, so that very large content neither
+ * fills the old generation nor gets copied by the collector. Growing allocates a larger direct buffer and copies
+ * the content native to native, then frees the old one. The memory is freed by close(), after which the builder
+ * can no longer be used. Writing the content out to a channel goes through the chunked encoding of Builder,
+ * which copies a few thousand chars at a time to the heap.
+ * Not thread safe: close() must not race with any other call.
+ */
+public class OffHeapBuilder implements Builder, AutoCloseable {
+
+    private final static int DEFAULT_SIZE = 1024;
+
+    private final static int LOAD_FACTOR = 75;
+
+    private final static int MAX_CAPACITY = GrowthPolicy.MAX_CAPACITY / 2;
+
+    private final static int SCRATCH_SIZE = 512;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
+    private ByteBuffer memory;
+
+    private CharBuffer chars;
+
+    private final char[] scratch = new char[SCRATCH_SIZE];
+
+    private final GrowthPolicy growthPolicy;
+
+    private int threshold;
+
+    private int index = 0;
+
+    public OffHeapBuilder() {
+        this(DEFAULT_SIZE);
+    }
+
+    public OffHeapBuilder(int capacity) {
+        this(capacity, new DoublingGrowthPolicy(LOAD_FACTOR));
+    }
+
+    public OffHeapBuilder(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0 || capacity > MAX_CAPACITY || growthPolicy == null) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.growthPolicy = growthPolicy;
+        allocate(capacity);
+    }
+
+    @Override
+    public int length() {
+        return index;
+    }
+
+    @Override
+    public char charAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return chars.get(position);
+    }
+
+    @Override
+    public int getCapacity() {
+        return chars == null ? 0 : chars.capacity();
+    }
+
+    /**
+     * Grow once, if needed, so that the content can reach the given length without growing again.
+     */
+    @Override
+    public void ensureCapacity(int minimumCapacity) {
+        checkOpen();
+
+        if (minimumCapacity > threshold) {
+            grow(minimumCapacity);
+        }
+    }
+
+    public boolean isClosed() {
+        return chars == null;
+    }
+
+    /**
+     * Free the off-heap memory. Calling it again has no effect.
+     */
+    @Override
+    public void close() {
+        if (chars == null) {
+            return;
+        }
+
+        ByteBuffer released = memory;
+
+        memory = null;
+        chars = null;
+        index = 0;
+        threshold = 0;
+
+        DirectBuffers.free(released);
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        checkPositionOutOfBounds(position);
+
+        return delete(position, position + 1);
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        if ((start < 0 || end < 0) || (start >= index) || (end > index) || (start > end)) {
+            throw new IndexOutOfBoundsException("Index out ouf range.");
+        }
+
+        chars.put(start, chars, end, index - end);
+        index -= end - start;
+
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        for (int i = 0, j = index - 1; i < j; i++, j--) {
+            char tmp = chars.get(i);
+            chars.put(i, chars.get(j));
+            chars.put(j, tmp);
+        }
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return lastIndexOf(value, index);
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.min(fromIndex, index - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        for (int i = start; i >= 0; i--) {
+            if (chars.get(i) == first && regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return indexOf(value, 0);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.max(fromIndex, 0);
+
+        if (start >= index) {
+            return valueLength == 0 ? index : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        int last = index - valueLength;
+        for (int i = start; i <= last; i++) {
+            if (chars.get(i) == first && regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Builder append(char value) {
+        ensureEnoughSpace(1);
+
+        chars.put(index++, value);
+
+        return this;
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        return append(charSequence, index, charSequence.length);
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        checkIndexExceeded(offset);
+        ensureEnoughSpace(length);
+        openGap(offset, length);
+
+        chars.put(offset, charSequence, 0, length);
+        index += length;
+
+        return this;
+    }
+
+    @Override
+    public Builder append(String value) {
+        return append((CharSequence) value, 0, value.length());
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return putCharSequence(index, value, start, end);
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(int value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(long value) {
+        return insert(index, value);
+    }
+
+    @Override
+    public Builder append(float value) {
+        return insert(index, String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(double value) {
+        return insert(index, String.valueOf(value));
+    }
+
+    @Override
+    public Builder append(Object object) {
+        return insert(index, object.toString());
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        scratch[0] = value;
+
+        return append(scratch, offset, 1);
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        return append(charSequence, offset, charSequence.length);
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        return insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        if (value == this) {
+            value = this.toString();
+        }
+
+        return putCharSequence(offset, value, 0, value.length());
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        int length = Digits.getDigitCount(value);
+
+        Digits.getChars(value, length, scratch);
+
+        return append(scratch, offset, length);
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        int length = Digits.getDigitCount(value);
+
+        Digits.getChars(value, length, scratch);
+
+        return append(scratch, offset, length);
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        return insert(offset, value ? TRUE_CHARS : FALSE_CHARS);
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    @Override
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        checkOpen();
+
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        chars.get(srcBegin, dst, dstBegin, srcEnd - srcBegin);
+    }
+
+    @Override
+    public String toString() {
+        checkOpen();
+
+        char[] result = new char[index];
+        chars.get(0, result, 0, index);
+
+        return new String(result);
+    }
+
+    private Builder putCharSequence(int offset, CharSequence value, int start, int end) {
+        int length = end - start;
+
+        checkIndexExceeded(offset);
+        ensureEnoughSpace(length);
+        openGap(offset, length);
+
+        if (value instanceof String) {
+            for (int i = start, position = offset; i < end; ) {
+                int chunk = Math.min(SCRATCH_SIZE, end - i);
+
+                ((String) value).getChars(i, i + chunk, scratch, 0);
+                chars.put(position, scratch, 0, chunk);
+
+                i += chunk;
+                position += chunk;
+            }
+        } else {
+            for (int i = start, position = offset; i < end; i++) {
+                chars.put(position++, value.charAt(i));
+            }
+        }
+
+        index += length;
+
+        return this;
+    }
+
+    private boolean regionMatches(int position, String value) {
+        for (int j = 1; j < value.length(); j++) {
+            if (chars.get(position + j) != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void openGap(int offset, int length) {
+        if (offset < index) {
+            chars.put(offset + length, chars, offset, index - offset);
+        }
+    }
+
+    private void ensureEnoughSpace(int length) {
+        checkOpen();
+
+        int requiredLength = index + length;
+
+        if (requiredLength > threshold || requiredLength < 0) {
+            grow(requiredLength);
+        }
+    }
+
+    private void grow(int requiredLength) {
+        if (requiredLength < 0 || requiredLength > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum buffer size.");
+        }
+
+        int size = Math.min(growthPolicy.getNewCapacity(chars.capacity(), requiredLength), MAX_CAPACITY);
+
+        if (size < requiredLength) {
+            throw new IllegalStateException("Growth policy returned a capacity below the required length.");
+        }
+
+        if (size != chars.capacity()) {
+            ByteBuffer previousMemory = memory;
+            CharBuffer previousChars = chars;
+
+            allocate(size);
+            chars.put(0, previousChars, 0, index);
+
+            DirectBuffers.free(previousMemory);
+        }
+    }
+
+    private void allocate(int capacity) {
+        memory = ByteBuffer.allocateDirect(capacity * 2).order(ByteOrder.nativeOrder());
+        chars = memory.asCharBuffer();
+        threshold = growthPolicy.getThreshold(capacity);
+    }
+
+    private void checkOpen() {
+        if (chars == null) {
+            throw new IllegalStateException("Builder is closed.");
+        }
+    }
+
+    private void checkIndexExceeded(int offset) {
+        if (offset < 0 || offset > index) {
+            throw new InvalidParameterException("Index out of range.");
+        }
+    }
+
+    private void checkPositionOutOfBounds(int position) {
+        if (position < 0 || position >= index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+    }
+}
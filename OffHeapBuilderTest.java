@@ -0,0 +1,138 @@
+package Coding.StringBuilder;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class OffHeapBuilderTest {
+
+    private OffHeapBuilder ob;
+
+    @Before
+    public void before() {
+        ob = new OffHeapBuilder(4);
+    }
+
+    @After
+    public void after() {
+        ob.close();
+    }
+
+    @Test
+    public void testAppendValues() {
+        ob.append("abc").append('d').append(12).append(-34L).append(true).append(1.5).append(new char[] { 'x' });
+
+        Assert.assertEquals("abcd12-34true1.5x", ob.toString());
+        Assert.assertEquals(17, ob.length());
+    }
+
+    @Test
+    public void testGrowthKeepsContent() {
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+
+        for (int i = 0; i < 5_000; i++) {
+            ob.append(i).append(',');
+            expected.append(i).append(',');
+        }
+
+        Assert.assertEquals(expected.toString(), ob.toString());
+        Assert.assertTrue(ob.getCapacity() >= ob.length());
+    }
+
+    @Test
+    public void testInsertAndDelete() {
+        ob.append("HelloWorld");
+        ob.insert(5, ", dear ");
+        ob.insert(0, '>');
+
+        Assert.assertEquals(">Hello, dear World", ob.toString());
+
+        ob.delete(6, 13).deleteCharAt(0);
+
+        Assert.assertEquals("HelloWorld", ob.toString());
+    }
+
+    @Test
+    public void testSearchAndReverse() {
+        ob.append("abcabcab");
+
+        Assert.assertEquals(3, ob.indexOf("ca") + 1);
+        Assert.assertEquals(5, ob.lastIndexOf("ca"));
+        Assert.assertEquals(3, ob.count("ab"));
+        Assert.assertEquals("bacbacba", ob.reverse().toString());
+    }
+
+    @Test
+    public void testWriteToChannel() throws Exception {
+        String content = "caf\u00e9 \u20ac " + "x".repeat(20_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ob.append(content);
+        long written = ob.writeTo(Channels.newChannel(out), StandardCharsets.UTF_8);
+
+        Assert.assertArrayEquals(content.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        Assert.assertEquals(out.size(), written);
+    }
+
+    @Test
+    public void testCloseReleasesAndRejectsWrites() {
+        ob.append("abc");
+        ob.close();
+        ob.close();
+
+        Assert.assertTrue(ob.isClosed());
+        Assert.assertEquals(0, ob.length());
+        Assert.assertEquals(0, ob.getCapacity());
+
+        try {
+            ob.append('x');
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Builder is closed.", e.getMessage());
+        }
+
+        try {
+            ob.getChars(0, 0, new char[0], 0);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Builder is closed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBulkAppendsGrowOnce() {
+        int[] grows = new int[1];
+        OffHeapBuilder builder = new OffHeapBuilder(0, new GrowthPolicy() {
+            @Override
+            public int getThreshold(int capacity) {
+                return capacity;
+            }
+
+            @Override
+            public int getNewCapacity(int currentCapacity, int requiredLength) {
+                grows[0]++;
+                return requiredLength;
+            }
+        });
+
+        builder.appendAll("ab", "cd", "ef");
+        Assert.assertEquals(1, grows[0]);
+
+        builder.appendAll(List.of("gh", "ij"));
+        Assert.assertEquals(2, grows[0]);
+
+        builder.join(",", "[", "]", List.of("k", "l", "m"));
+        Assert.assertEquals(3, grows[0]);
+
+        builder.appendRepeated("no", 4);
+        Assert.assertEquals(4, grows[0]);
+        Assert.assertEquals("abcdefghij[k,l,m]nononono", builder.toString());
+        builder.close();
+    }
+}
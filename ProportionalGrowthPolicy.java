@@ -0,0 +1,32 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Grows the array by a fixed percentage of its current capacity (150 for the usual 1.5x),
+ * or to the required length if that is larger.
+ */
+public class ProportionalGrowthPolicy implements GrowthPolicy {
+
+    private final int growthPercentage;
+
+    public ProportionalGrowthPolicy(int growthPercentage) {
+        if (growthPercentage <= 100) {
+            throw new InvalidParameterException("Invalid growth percentage.");
+        }
+
+        this.growthPercentage = growthPercentage;
+    }
+
+    @Override
+    public int getThreshold(int capacity) {
+        return capacity;
+    }
+
+    @Override
+    public int getNewCapacity(int currentCapacity, int requiredLength) {
+        long grown = (long) currentCapacity * growthPercentage / 100;
+
+        return (int) Math.max(requiredLength, Math.min(grown, MAX_CAPACITY));
+    }
+}
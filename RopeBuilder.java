@@ -0,0 +1,735 @@
+package Coding.StringBuilder;
+
+import java.nio.CharBuffer;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Builder backed by a balanced rope: an AVL tree whose leaves are flat char arrays of at most MAX_LEAF_LENGTH chars.
+ * Inserting or deleting in the middle splits and re-joins the tree in O(log n) instead of shifting the whole tail,
+ * and small edits that fit into a single leaf are done in place. charAt walks down the tree, but remembers the
+ * last leaf it found, so scanning the content in order stays cheap.
+ * When deletes and splits leave too many sparsely filled leaves behind, the tree is rebuilt from full leaves.
+ */
+public class RopeBuilder implements Builder {
+
+    private final static int MAX_LEAF_LENGTH = 512;
+
+    private final static int REBALANCE_FILL_DIVISOR = 4;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
+    private Node root;
+
+    private Node cachedLeaf;
+
+    private int cachedLeafStart;
+
+    private final char[] scratch = new char[20];
+
+    private final CharSource scratchSource = (start, end, destination, destinationStart) ->
+            System.arraycopy(scratch, start, destination, destinationStart, end - start);
+
+    public RopeBuilder() {
+    }
+
+    public RopeBuilder(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        append(value);
+    }
+
+    /**
+     * Build a rope holding the content of the array-backed builder, copying it once into full leaves.
+     *
+     * @param source
+     */
+    public RopeBuilder(StringBuilder source) {
+        if (source.length() > 0) {
+            root = build(source::getChars, 0, source.length());
+        }
+    }
+
+    /**
+     * Copy the content into a new array-backed builder, sized so that it does not have to grow while being filled.
+     */
+    public StringBuilder toStringBuilder() {
+        int length = length();
+        StringBuilder result = new StringBuilder(length / 3 * 4 + 4);
+
+        appendLeaves(root, result);
+
+        return result;
+    }
+
+    @Override
+    public int length() {
+        return root == null ? 0 : root.length;
+    }
+
+    @Override
+    public char charAt(int position) {
+        if (position < 0 || position >= length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return getChar(position);
+    }
+
+    @Override
+    public int getCapacity() {
+        return getCapacity(root);
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        if (position < 0 || position >= length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return delete(position, position + 1);
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        int length = length();
+
+        if ((start < 0 || end < 0) || (start >= length) || (end > length) || (start > end)) {
+            throw new IndexOutOfBoundsException("Index out ouf range.");
+        }
+
+        if (start == end) {
+            return this;
+        }
+
+        if (!deleteInLeaf(root, start, end)) {
+            root = join(prefix(root, start), suffix(root, end));
+        }
+
+        afterMutation();
+
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        reverse(root);
+        cachedLeaf = null;
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return lastIndexOf(value, length());
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.min(fromIndex, length() - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        for (int i = start; i >= 0; i--) {
+            if (getChar(i) == first && regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return indexOf(value, 0);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        int length = length();
+        int valueLength = value.length();
+        int start = Math.max(fromIndex, 0);
+
+        if (start >= length) {
+            return valueLength == 0 ? length : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        char first = value.charAt(0);
+        int last = length - valueLength;
+        for (int i = start; i <= last; i++) {
+            if (getChar(i) == first && regionMatches(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Builder append(char value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        return append(charSequence, length(), charSequence.length);
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        return insertChars(offset, (start, end, destination, destinationStart) ->
+                System.arraycopy(charSequence, start, destination, destinationStart, end - start), 0, length);
+    }
+
+    @Override
+    public Builder append(String value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return insertChars(length(), toSource(value), start, end);
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(int value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(long value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(float value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(double value) {
+        return insert(length(), value);
+    }
+
+    @Override
+    public Builder append(Object object) {
+        return insert(length(), object);
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        scratch[0] = value;
+        return insertChars(offset, scratchSource, 0, 1);
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        return append(charSequence, offset, charSequence.length);
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        return insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        if (value == this) {
+            value = this.toString();
+        }
+
+        return insertChars(offset, toSource(value), 0, value.length());
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        int length = Digits.getDigitCount(value);
+        Digits.getChars(value, length, scratch);
+
+        return insertChars(offset, scratchSource, 0, length);
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        int length = Digits.getDigitCount(value);
+        Digits.getChars(value, length, scratch);
+
+        return insertChars(offset, scratchSource, 0, length);
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        return insert(offset, String.valueOf(value));
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        return insert(offset, value ? TRUE_CHARS : FALSE_CHARS);
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    @Override
+    public String toString() {
+        char[] result = new char[length()];
+        copyLeaves(root, result, 0);
+
+        return new String(result);
+    }
+
+    private Builder insertChars(int offset, CharSource source, int start, int end) {
+        if (offset < 0 || offset > length()) {
+            throw new InvalidParameterException("Index out of range.");
+        }
+
+        if (start == end) {
+            return this;
+        }
+
+        if (root == null) {
+            root = build(source, start, end);
+        } else if (!insertInLeaf(root, offset, source, start, end)) {
+            Node inserted = build(source, start, end);
+            root = join(join(prefix(root, offset), inserted), suffix(root, offset));
+        }
+
+        afterMutation();
+
+        return this;
+    }
+
+    private char getChar(int position) {
+        Node leaf = cachedLeaf;
+
+        if (leaf != null && position >= cachedLeafStart && position < cachedLeafStart + leaf.length) {
+            return leaf.chars[position - cachedLeafStart];
+        }
+
+        Node node = root;
+        int leafStart = 0;
+        while (node.chars == null) {
+            if (position - leafStart < node.left.length) {
+                node = node.left;
+            } else {
+                leafStart += node.left.length;
+                node = node.right;
+            }
+        }
+
+        cachedLeaf = node;
+        cachedLeafStart = leafStart;
+
+        return node.chars[position - leafStart];
+    }
+
+    private boolean regionMatches(int position, String value) {
+        for (int j = 1; j < value.length(); j++) {
+            if (getChar(position + j) != value.charAt(j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Drop the cached leaf and rebuild the tree from full leaves once the average leaf is less than
+     * a quarter full. Every edit adds at most two leaves, so the rebuild is amortized over the edits that caused it.
+     */
+    private void afterMutation() {
+        cachedLeaf = null;
+
+        if (root != null && root.leaves > (root.length / MAX_LEAF_LENGTH + 1) * REBALANCE_FILL_DIVISOR) {
+            char[] content = new char[root.length];
+            copyLeaves(root, content, 0);
+
+            root = build((start, end, destination, destinationStart) ->
+                    System.arraycopy(content, start, destination, destinationStart, end - start), 0, content.length);
+        }
+    }
+
+    private static boolean insertInLeaf(Node node, int offset, CharSource source, int start, int end) {
+        int count = end - start;
+        boolean inserted;
+
+        if (node.chars != null) {
+            if (node.length + count > MAX_LEAF_LENGTH) {
+                return false;
+            }
+
+            if (node.length + count > node.chars.length) {
+                int capacity = Math.min(MAX_LEAF_LENGTH, Math.max(node.length + count, node.chars.length * 2));
+                node.chars = Arrays.copyOf(node.chars, capacity);
+            }
+
+            System.arraycopy(node.chars, offset, node.chars, offset + count, node.length - offset);
+            source.getChars(start, end, node.chars, offset);
+            node.length += count;
+
+            return true;
+        }
+
+        if (offset <= node.left.length) {
+            inserted = insertInLeaf(node.left, offset, source, start, end);
+        } else {
+            inserted = insertInLeaf(node.right, offset - node.left.length, source, start, end);
+        }
+
+        if (inserted) {
+            node.length += count;
+        }
+
+        return inserted;
+    }
+
+    private static boolean deleteInLeaf(Node node, int start, int end) {
+        int count = end - start;
+        boolean deleted;
+
+        if (node.chars != null) {
+            if (count >= node.length) {
+                return false;
+            }
+
+            System.arraycopy(node.chars, end, node.chars, start, node.length - end);
+            node.length -= count;
+
+            return true;
+        }
+
+        int leftLength = node.left.length;
+        if (end <= leftLength) {
+            deleted = deleteInLeaf(node.left, start, end);
+        } else if (start >= leftLength) {
+            deleted = deleteInLeaf(node.right, start - leftLength, end - leftLength);
+        } else {
+            return false;
+        }
+
+        if (deleted) {
+            node.length -= count;
+        }
+
+        return deleted;
+    }
+
+    /**
+     * The first length chars of the node, as a balanced tree. Only the leaf that is cut gets copied.
+     */
+    private static Node prefix(Node node, int length) {
+        if (node == null || length <= 0) {
+            return null;
+        }
+
+        if (length >= node.length) {
+            return node;
+        }
+
+        if (node.chars != null) {
+            return new Node(Arrays.copyOf(node.chars, length), length);
+        }
+
+        if (length <= node.left.length) {
+            return prefix(node.left, length);
+        }
+
+        return join(node.left, prefix(node.right, length - node.left.length));
+    }
+
+    /**
+     * The chars of the node from the start position on, as a balanced tree. Only the leaf that is cut gets copied.
+     */
+    private static Node suffix(Node node, int start) {
+        if (node == null || start >= node.length) {
+            return null;
+        }
+
+        if (start <= 0) {
+            return node;
+        }
+
+        if (node.chars != null) {
+            return new Node(Arrays.copyOfRange(node.chars, start, node.length), node.length - start);
+        }
+
+        if (start >= node.left.length) {
+            return suffix(node.right, start - node.left.length);
+        }
+
+        return join(suffix(node.left, start), node.right);
+    }
+
+    /**
+     * Concatenate two balanced trees into one. Descends the spine of the taller tree to the height of the shorter one
+     * and rotates on the way back up, so the cost is proportional to the difference in height.
+     * Two leaves that fit together are merged into one.
+     */
+    private static Node join(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.chars != null && right.chars != null && left.length + right.length <= MAX_LEAF_LENGTH) {
+            char[] merged = Arrays.copyOf(left.chars, left.length + right.length);
+            System.arraycopy(right.chars, 0, merged, left.length, right.length);
+
+            return new Node(merged, merged.length);
+        }
+
+        if (left.height > right.height + 1) {
+            return joinRight(left, right);
+        }
+
+        if (right.height > left.height + 1) {
+            return joinLeft(left, right);
+        }
+
+        return new Node(left, right);
+    }
+
+    private static Node joinRight(Node left, Node right) {
+        Node outer = left.left;
+        Node inner = left.right;
+
+        if (inner.height <= right.height + 1) {
+            Node joined = new Node(inner, right);
+
+            if (joined.height <= outer.height + 1) {
+                return new Node(outer, joined);
+            }
+
+            return rotateLeft(new Node(outer, rotateRight(joined)));
+        }
+
+        Node joined = joinRight(inner, right);
+        Node result = new Node(outer, joined);
+
+        if (joined.height <= outer.height + 1) {
+            return result;
+        }
+
+        return rotateLeft(result);
+    }
+
+    private static Node joinLeft(Node left, Node right) {
+        Node outer = right.right;
+        Node inner = right.left;
+
+        if (inner.height <= left.height + 1) {
+            Node joined = new Node(left, inner);
+
+            if (joined.height <= outer.height + 1) {
+                return new Node(joined, outer);
+            }
+
+            return rotateRight(new Node(rotateLeft(joined), outer));
+        }
+
+        Node joined = joinLeft(left, inner);
+        Node result = new Node(joined, outer);
+
+        if (joined.height <= outer.height + 1) {
+            return result;
+        }
+
+        return rotateRight(result);
+    }
+
+    private static Node rotateLeft(Node node) {
+        return new Node(new Node(node.left, node.right.left), node.right.right);
+    }
+
+    private static Node rotateRight(Node node) {
+        return new Node(node.left.left, new Node(node.left.right, node.right));
+    }
+
+    /**
+     * A perfectly balanced tree of full leaves holding the source chars between start and end.
+     */
+    private static Node build(CharSource source, int start, int end) {
+        int leafCount = (end - start + MAX_LEAF_LENGTH - 1) / MAX_LEAF_LENGTH;
+
+        return build(source, start, end, leafCount);
+    }
+
+    private static Node build(CharSource source, int start, int end, int leafCount) {
+        if (leafCount == 1) {
+            char[] chars = new char[end - start];
+            source.getChars(start, end, chars, 0);
+
+            return new Node(chars, chars.length);
+        }
+
+        int leftLeaves = leafCount / 2;
+        int middle = start + leftLeaves * MAX_LEAF_LENGTH;
+
+        return new Node(build(source, start, middle, leftLeaves), build(source, middle, end, leafCount - leftLeaves));
+    }
+
+    private static void reverse(Node node) {
+        if (node == null) {
+            return;
+        }
+
+        if (node.chars != null) {
+            char[] chars = node.chars;
+            for (int i = 0, j = node.length - 1; i < j; i++, j--) {
+                char tmp = chars[i];
+                chars[i] = chars[j];
+                chars[j] = tmp;
+            }
+
+            return;
+        }
+
+        Node tmp = node.left;
+        node.left = node.right;
+        node.right = tmp;
+
+        reverse(node.left);
+        reverse(node.right);
+    }
+
+    private static int copyLeaves(Node node, char[] destination, int position) {
+        if (node == null) {
+            return position;
+        }
+
+        if (node.chars != null) {
+            System.arraycopy(node.chars, 0, destination, position, node.length);
+            return position + node.length;
+        }
+
+        return copyLeaves(node.right, destination, copyLeaves(node.left, destination, position));
+    }
+
+    private static void appendLeaves(Node node, StringBuilder destination) {
+        if (node == null) {
+            return;
+        }
+
+        if (node.chars != null) {
+            destination.append(node.chars, destination.length(), node.length);
+            return;
+        }
+
+        appendLeaves(node.left, destination);
+        appendLeaves(node.right, destination);
+    }
+
+    private static int getCapacity(Node node) {
+        if (node == null) {
+            return 0;
+        }
+
+        if (node.chars != null) {
+            return node.chars.length;
+        }
+
+        return getCapacity(node.left) + getCapacity(node.right);
+    }
+
+    private static CharSource toSource(CharSequence value) {
+        if (value instanceof String) {
+            return ((String) value)::getChars;
+        }
+
+        if (value instanceof StringBuilder) {
+            return ((StringBuilder) value)::getChars;
+        }
+
+        if (value instanceof CharBuffer && ((CharBuffer) value).hasArray()) {
+            CharBuffer buffer = (CharBuffer) value;
+            int base = buffer.arrayOffset() + buffer.position();
+
+            return (start, end, destination, destinationStart) ->
+                    System.arraycopy(buffer.array(), base + start, destination, destinationStart, end - start);
+        }
+
+        return (start, end, destination, destinationStart) -> {
+            for (int i = start; i < end; i++) {
+                destination[destinationStart++] = value.charAt(i);
+            }
+        };
+    }
+
+    private interface CharSource {
+
+        void getChars(int start, int end, char[] destination, int destinationStart);
+    }
+
+    /**
+     * A leaf when chars is set, otherwise an inner node caching the length, height and leaf count of its subtree.
+     */
+    private static class Node {
+
+        private char[] chars;
+
+        private Node left;
+
+        private Node right;
+
+        private int length;
+
+        private final int height;
+
+        private final int leaves;
+
+        private Node(char[] chars, int length) {
+            this.chars = chars;
+            this.length = length;
+            this.height = 0;
+            this.leaves = 1;
+        }
+
+        private Node(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+            this.length = left.length + right.length;
+            this.height = Math.max(left.height, right.height) + 1;
+            this.leaves = left.leaves + right.leaves;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class RopeBuilderTest {
+
+    private RopeBuilder rope;
+
+    @Before
+    public void before() {
+        rope = new RopeBuilder();
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertEquals(0, rope.length());
+        Assert.assertEquals("", rope.toString());
+        Assert.assertEquals("", rope.reverse().toString());
+    }
+
+    @Test
+    public void testAppendValues() {
+        rope.append("abc").append('d').append(12).append(-34L).append(true).append(1.5).append(new char[] { 'x' });
+
+        Assert.assertEquals("abcd12-34true1.5x", rope.toString());
+        Assert.assertEquals(17, rope.length());
+    }
+
+    @Test
+    public void testInsertInTheMiddleOfLargeContent() {
+        char[] content = new char[100_000];
+        Arrays.fill(content, 'a');
+        rope.append(content);
+
+        rope.insert(50_000, "XYZ");
+        rope.insert(0, 7);
+        rope.insert(rope.length(), 'E');
+
+        Assert.assertEquals(100_005, rope.length());
+        Assert.assertEquals('7', rope.charAt(0));
+        Assert.assertEquals('X', rope.charAt(50_001));
+        Assert.assertEquals('Z', rope.charAt(50_003));
+        Assert.assertEquals('E', rope.charAt(100_004));
+        Assert.assertEquals(50_001, rope.indexOf("XYZ"));
+    }
+
+    @Test
+    public void testDeleteAcrossLeaves() {
+        char[] content = new char[5_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (char) ('a' + i % 26);
+        }
+        rope.append(content);
+
+        rope.delete(10, 4_990);
+
+        Assert.assertEquals(20, rope.length());
+        Assert.assertEquals(new String(content, 0, 10) + new String(content, 4_990, 10), rope.toString());
+
+        rope.deleteCharAt(0);
+
+        Assert.assertEquals('b', rope.charAt(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDeleteOutOfRange() {
+        rope.append("Test");
+        rope.delete(0, 5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetElementOutOfRange() {
+        rope.append("Test");
+        rope.charAt(4);
+    }
+
+    @Test
+    public void testReverse() {
+        rope.append("Dummy");
+        char[] content = new char[1_000];
+        Arrays.fill(content, 'q');
+        rope.append(content).append("End");
+
+        String reversed = new java.lang.StringBuilder(rope.toString()).reverse().toString();
+
+        Assert.assertEquals(reversed, rope.reverse().toString());
+    }
+
+    @Test
+    public void testIndexOf() {
+        rope.append("HelloHello");
+
+        Assert.assertEquals(2, rope.indexOf("llo"));
+        Assert.assertEquals(5, rope.indexOf("H", 1));
+        Assert.assertEquals(7, rope.lastIndexOf("llo"));
+        Assert.assertEquals(2, rope.lastIndexOf("llo", 6));
+        Assert.assertEquals(-1, rope.indexOf("xyz"));
+    }
+
+    @Test
+    public void testManyEditsKeepContent() {
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+
+        for (int i = 0; i < 2_000; i++) {
+            int offset = (i * 7919) % (expected.length() + 1);
+            rope.insert(offset, "edit" + i);
+            expected.insert(offset, "edit" + i);
+
+            if (i % 3 == 0) {
+                int start = (i * 31) % expected.length();
+                int end = Math.min(expected.length(), start + 5);
+                rope.delete(start, end);
+                expected.delete(start, end);
+            }
+        }
+
+        Assert.assertEquals(expected.toString(), rope.toString());
+    }
+
+    @Test
+    public void testConversionFromAndToStringBuilder() {
+        StringBuilder sb = new StringBuilder("Hello ");
+        sb.append("World");
+
+        RopeBuilder converted = new RopeBuilder(sb);
+        converted.insert(5, ',');
+
+        Assert.assertEquals("Hello, World", converted.toString());
+
+        StringBuilder back = converted.toStringBuilder();
+
+        Assert.assertEquals("Hello, World", back.toString());
+        Assert.assertEquals(12, back.length());
+    }
+}
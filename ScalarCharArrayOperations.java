@@ -0,0 +1,59 @@
+package Coding.StringBuilder;
+
+final class ScalarCharArrayOperations implements CharArrayOperations {
+
+    @Override
+    public void reverse(char[] arr, int length) {
+        int middleIndex = length / 2;
+
+        int oppositeIndex;
+        for (int i = 0; i < middleIndex; i++) {
+            char tmp = arr[i];
+            oppositeIndex = length - 1 - i;
+            arr[i] = arr[oppositeIndex];
+            arr[oppositeIndex] = tmp;
+        }
+    }
+
+    @Override
+    public int indexOf(char[] arr, int length, char value, int fromIndex) {
+        for (int i = Math.max(fromIndex, 0); i < length; i++) {
+            if (arr[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(char[] arr, int length, char value, int fromIndex) {
+        for (int i = Math.min(fromIndex, length - 1); i >= 0; i--) {
+            if (arr[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean isLatin1(char[] arr, int from, int to) {
+        return (or(arr, from, to) & 0xFF00) == 0;
+    }
+
+    @Override
+    public boolean isAscii(char[] arr, int from, int to) {
+        return (or(arr, from, to) & 0xFF80) == 0;
+    }
+
+    private static int or(char[] arr, int from, int to) {
+        int bits = 0;
+
+        for (int i = from; i < to; i++) {
+            bits |= arr[i];
+        }
+
+        return bits;
+    }
+}
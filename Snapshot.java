@@ -0,0 +1,100 @@
+package Coding.StringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Immutable chars of a builder, taken by freeze without copying them. The array is shared with the builder, which
+ * copies it before changing any of the chars a snapshot can see, so a snapshot never observes later changes.
+ * Sub-sequences share the same array, and toString copies it once and keeps the result.
+ */
+public final class Snapshot implements CharSequence {
+
+    private final char[] arr;
+
+    private final int start;
+
+    private final int end;
+
+    private String value;
+
+    Snapshot(char[] arr, int start, int end) {
+        this.arr = arr;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int position) {
+        if (position < 0 || position >= end - start) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return arr[start + position];
+    }
+
+    @Override
+    public Snapshot subSequence(int subStart, int subEnd) {
+        if (subStart < 0 || subStart > subEnd || subEnd > end - start) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return new Snapshot(arr, start + subStart, start + subEnd);
+    }
+
+    /**
+     * Copy the chars between srcBegin and srcEnd into the destination array, the same way String.getChars does.
+     */
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > end - start) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        System.arraycopy(arr, start + srcBegin, dst, dstBegin, srcEnd - srcBegin);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof Snapshot)) {
+            return false;
+        }
+
+        Snapshot snapshot = (Snapshot) other;
+
+        return Arrays.equals(arr, start, end, snapshot.arr, snapshot.start, snapshot.end);
+    }
+
+    /**
+     * The same hash as the String with these chars.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + arr[i];
+        }
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        String result = value;
+
+        if (result == null) {
+            result = String.valueOf(arr, start, end - start);
+            value = result;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SnapshotTest {
+
+    @Test
+    public void testSubSequenceAndCopies() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("key=value");
+
+        Snapshot snapshot = sb.freeze();
+        Snapshot value = snapshot.subSequence(4, 9);
+
+        Assert.assertEquals(9, snapshot.length());
+        Assert.assertEquals('=', snapshot.charAt(3));
+        Assert.assertEquals("value", value.toString());
+        Assert.assertSame(value.toString(), value.toString());
+
+        char[] chars = new char[3];
+        value.getChars(1, 4, chars, 0);
+        Assert.assertArrayEquals(new char[] { 'a', 'l', 'u' }, chars);
+
+        sb.append(value).append(snapshot, 0, 3);
+        Assert.assertEquals("key=valuevaluekey", sb.toString());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("abcabc");
+
+        Snapshot snapshot = sb.freeze();
+
+        Assert.assertEquals(snapshot.subSequence(0, 3), snapshot.subSequence(3, 6));
+        Assert.assertNotEquals(snapshot.subSequence(0, 3), snapshot.subSequence(1, 4));
+        Assert.assertEquals("abc".hashCode(), snapshot.subSequence(3, 6).hashCode());
+        Assert.assertEquals("".hashCode(), new StringBuilder().freeze().hashCode());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharAtOutOfRange() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("abc");
+
+        sb.freeze().subSequence(1, 2).charAt(1);
+    }
+}
@@ -0,0 +1,636 @@
+package Coding.StringBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.security.InvalidParameterException;
+
+/**
+ * Builder that only keeps a window of the most recent content in memory. Once the window reaches the high-water
+ * mark it is written to the sink and its buffer is reused, so memory stays bounded by the window instead of
+ * growing with the output. Positions count from the start of everything written, but charAt, getChars,
+ * subSequence, insert, delete and the searches only reach the part that was not flushed yet, and a position in the
+ * flushed part throws IndexOutOfBoundsException. What needs the whole content (toString, freeze, encodeTo,
+ * writeTo, startsWith, reverse and appending or inserting the builder itself) throws IllegalStateException after
+ * the first flush; getWindow returns the part that was not flushed yet.
+ * Appends larger than the high-water mark go straight to the sink.
+ * Failing writes to the sink surface as UncheckedIOException from the Builder methods, and as IOException from
+ * the Writer ones.
+ */
+public class StreamingBuilder extends Writer implements Builder {
+
+    private final static int DEFAULT_HIGH_WATER_MARK = 8192;
+
+    private final static int CHUNK_SIZE = 4096;
+
+    private final static int WINDOW_LOAD_FACTOR = 100;
+
+    private final Writer out;
+
+    private final int highWaterMark;
+
+    private final StringBuilder window;
+
+    private final char[] chunk;
+
+    private long flushed = 0;
+
+    private boolean closed = false;
+
+    public StreamingBuilder(Writer out) {
+        this(out, DEFAULT_HIGH_WATER_MARK);
+    }
+
+    public StreamingBuilder(Writer out, int highWaterMark) {
+        if (out == null || highWaterMark <= 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.out = out;
+        this.highWaterMark = highWaterMark;
+        this.window = new StringBuilder(highWaterMark, new DoublingGrowthPolicy(WINDOW_LOAD_FACTOR));
+        this.chunk = new char[Math.min(highWaterMark, CHUNK_SIZE)];
+    }
+
+    /**
+     * Encode the flushed content with the charset, replacing chars it cannot encode the way String.getBytes does.
+     */
+    public StreamingBuilder(OutputStream out, Charset charset, int highWaterMark) {
+        this(new OutputStreamWriter(out, charset), highWaterMark);
+    }
+
+    public StreamingBuilder(WritableByteChannel channel, Charset charset, int highWaterMark) {
+        this(Channels.newWriter(channel, charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), -1), highWaterMark);
+    }
+
+    /**
+     * Number of chars already written to the sink.
+     */
+    public long getFlushedLength() {
+        return flushed;
+    }
+
+    /**
+     * @throws ArithmeticException once the total length no longer fits an int
+     */
+    @Override
+    public int length() {
+        return Math.toIntExact(flushed + window.length());
+    }
+
+    @Override
+    public char charAt(int position) {
+        return window.charAt(toWindowPosition(position, false));
+    }
+
+    @Override
+    public int getCapacity() {
+        return window.getCapacity();
+    }
+
+    /**
+     * The content that was not flushed yet.
+     */
+    public String getWindow() {
+        return window.toString();
+    }
+
+    @Override
+    public StreamingBuilder deleteCharAt(int position) {
+        checkOpen();
+        window.deleteCharAt(toWindowPosition(position, false));
+
+        return this;
+    }
+
+    @Override
+    public StreamingBuilder delete(int start, int end) {
+        checkOpen();
+        window.delete(toWindowPosition(start, false), toWindowPosition(end, true));
+
+        return this;
+    }
+
+    @Override
+    public StreamingBuilder reverse() {
+        checkOpen();
+        checkNotFlushed();
+        window.reverse();
+
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return fromWindowPosition(window.lastIndexOf(value));
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        return fromWindowPosition(window.lastIndexOf(value, clampToWindow(fromIndex)));
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return fromWindowPosition(window.indexOf(value));
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        return fromWindowPosition(window.indexOf(value, clampToWindow(fromIndex)));
+    }
+
+    @Override
+    public int indexOf(char value, int fromIndex) {
+        return fromWindowPosition(window.indexOf(value, clampToWindow(fromIndex)));
+    }
+
+    @Override
+    public int lastIndexOf(char value, int fromIndex) {
+        return fromWindowPosition(window.lastIndexOf(value, clampToWindow(fromIndex)));
+    }
+
+    @Override
+    public StreamingBuilder append(char value) {
+        checkOpen();
+        window.append(value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(char[] charSequence) {
+        appendChars(charSequence, 0, charSequence.length);
+
+        return this;
+    }
+
+    @Override
+    public StreamingBuilder append(char[] charSequence, int offset, int length) {
+        checkOpen();
+
+        int windowOffset = toWindowPosition(offset, true);
+
+        if (windowOffset == window.length()) {
+            appendChars(charSequence, 0, length);
+            return this;
+        }
+
+        window.append(charSequence, windowOffset, length);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(String value) {
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public StreamingBuilder append(CharSequence value) {
+        return append(value, 0, value.length());
+    }
+
+    @Override
+    public StreamingBuilder append(CharSequence value, int start, int end) {
+        checkOpen();
+
+        if (value == this) {
+            value = toString();
+        }
+
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        try {
+            if (window.length() + (end - start) > highWaterMark) {
+                flushWindow();
+            }
+
+            if (end - start >= highWaterMark) {
+                out.append(value, start, end);
+                flushed += end - start;
+                return this;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        window.append(value, start, end);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(boolean value) {
+        checkOpen();
+        window.append(value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(int value) {
+        checkOpen();
+        window.append(value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(long value) {
+        checkOpen();
+        window.append(value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(float value) {
+        checkOpen();
+        window.append(value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(double value) {
+        checkOpen();
+        window.append(value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder append(Object object) {
+        return append(object.toString());
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, char value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, char[] charSequence) {
+        return append(charSequence, offset, charSequence.length);
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, String value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, CharSequence value) {
+        checkOpen();
+
+        if (value == this) {
+            value = this.toString();
+        }
+
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, int value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, long value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, float value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, double value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, boolean value) {
+        checkOpen();
+        window.insert(toWindowPosition(offset, true), value);
+
+        return afterWrite();
+    }
+
+    @Override
+    public StreamingBuilder insert(int offset, Object value) {
+        return insert(offset, value.toString());
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush
+     */
+    @Override
+    public boolean startsWith(String prefix) {
+        checkNotFlushed();
+
+        return window.startsWith(prefix);
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush, if the suffix is longer than the window
+     */
+    @Override
+    public boolean endsWith(String suffix) {
+        if (suffix.length() > window.length()) {
+            checkNotFlushed();
+        }
+
+        return window.endsWith(suffix);
+    }
+
+    @Override
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (srcBegin > srcEnd) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        window.getChars(toWindowPosition(srcBegin, true), toWindowPosition(srcEnd, true), dst, dstBegin);
+    }
+
+    /**
+     * View of the chars between start and end, which must not reach the flushed part. Like the views of
+     * StringBuilder, it becomes invalid once the window is flushed.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start > end) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return window.subSequence(toWindowPosition(start, true), toWindowPosition(end, true));
+    }
+
+    /**
+     * Report the matches in the part that was not flushed yet, at positions counted from the start.
+     */
+    @Override
+    public void findAll(MultiPattern patterns, MultiPattern.MatchHandler handler) {
+        window.findAll(patterns, (pattern, start) -> handler.onMatch(pattern, fromWindowPosition(start)));
+    }
+
+    /**
+     * Replace the matches in the part that was not flushed yet.
+     */
+    @Override
+    public StreamingBuilder replaceAll(MultiPattern patterns, CharSequence[] replacements) {
+        checkOpen();
+
+        for (int i = 0; i < replacements.length; i++) {
+            if (replacements[i] == this) {
+                replacements = replacements.clone();
+                replacements[i] = toString();
+            }
+        }
+
+        window.replaceAll(patterns, replacements);
+
+        return afterWrite();
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush
+     */
+    @Override
+    public CharSequence freeze() {
+        checkNotFlushed();
+
+        return window.freeze();
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush
+     */
+    @Override
+    public int encodeTo(ByteBuffer target, Charset charset) {
+        checkNotFlushed();
+
+        return window.encodeTo(target, charset);
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush
+     */
+    @Override
+    public long writeTo(WritableByteChannel channel, Charset charset) throws IOException {
+        checkNotFlushed();
+
+        return window.writeTo(channel, charset);
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush
+     */
+    @Override
+    public long writeTo(OutputStream out, Charset charset) throws IOException {
+        checkNotFlushed();
+
+        return window.writeTo(out, charset);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        checkOpen();
+        window.append((char) c);
+
+        if (window.length() >= highWaterMark) {
+            flushWindow();
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > cbuf.length || off + len < 0) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        try {
+            appendChars(cbuf, off, len);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        try {
+            append(str, off, off + len);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Write the window to the sink and flush the sink.
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        flushWindow();
+        out.flush();
+    }
+
+    /**
+     * Write the window to the sink and close the sink. Calling it again has no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            flushWindow();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    /**
+     * @throws IllegalStateException after the first flush, use getWindow for the part that was not flushed yet
+     */
+    @Override
+    public String toString() {
+        checkNotFlushed();
+
+        return window.toString();
+    }
+
+    private void appendChars(char[] chars, int offset, int length) {
+        checkOpen();
+
+        try {
+            if (window.length() + length > highWaterMark) {
+                flushWindow();
+            }
+
+            if (length >= highWaterMark) {
+                out.write(chars, offset, length);
+                flushed += length;
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (offset == 0) {
+            window.append(chars, window.length(), length);
+        } else {
+            window.append(CharBuffer.wrap(chars, offset, length));
+        }
+
+        afterWrite();
+    }
+
+    private StreamingBuilder afterWrite() {
+        checkOpen();
+
+        if (window.length() >= highWaterMark) {
+            try {
+                flushWindow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Hand the window to the sink a chunk at a time and empty it, keeping its array.
+     */
+    private void flushWindow() throws IOException {
+        int length = window.length();
+
+        for (int start = 0; start < length; start += chunk.length) {
+            int end = Math.min(start + chunk.length, length);
+
+            window.getChars(start, end, chunk, 0);
+            out.write(chunk, 0, end - start);
+        }
+
+        flushed += length;
+        window.reset();
+    }
+
+    /**
+     * Translate a position in the whole content into a position in the window.
+     *
+     * @param position
+     * @param allowEnd whether the position right after the last char is valid
+     */
+    private int toWindowPosition(int position, boolean allowEnd) {
+        long windowPosition = position - flushed;
+        int limit = allowEnd ? window.length() : window.length() - 1;
+
+        if (position < 0 || windowPosition > limit) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        if (windowPosition < 0) {
+            throw new IndexOutOfBoundsException("Position was already flushed.");
+        }
+
+        return (int) windowPosition;
+    }
+
+    private int clampToWindow(int fromIndex) {
+        return (int) Math.max(Math.min(fromIndex - flushed, Integer.MAX_VALUE), -1);
+    }
+
+    private int fromWindowPosition(int windowPosition) {
+        return windowPosition < 0 ? -1 : Math.toIntExact(windowPosition + flushed);
+    }
+
+    private void checkNotFlushed() {
+        if (flushed > 0) {
+            throw new IllegalStateException("Content was already flushed.");
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Builder is closed.");
+        }
+    }
+}
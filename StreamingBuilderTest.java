@@ -0,0 +1,186 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+public class StreamingBuilderTest {
+
+    private final static int HIGH_WATER_MARK = 16;
+
+    private StringWriter sink;
+
+    private StreamingBuilder stb;
+
+    @Before
+    public void before() {
+        sink = new StringWriter();
+        stb = new StreamingBuilder(sink, HIGH_WATER_MARK);
+    }
+
+    @Test
+    public void testFlushesWhenWindowReachesHighWaterMark() {
+        stb.append("0123456789").append(12345);
+
+        Assert.assertEquals("", sink.toString());
+
+        stb.append('!');
+
+        Assert.assertEquals("012345678912345!", sink.toString());
+        Assert.assertEquals(16, stb.getFlushedLength());
+        Assert.assertEquals("", stb.getWindow());
+        Assert.assertEquals(HIGH_WATER_MARK, stb.getCapacity());
+    }
+
+    @Test
+    public void testPositionsCountFromTheStart() throws Exception {
+        stb.append("0123456789abcdef").append("tail");
+
+        Assert.assertEquals(20, stb.length());
+        Assert.assertEquals('t', stb.charAt(16));
+        Assert.assertEquals(17, stb.indexOf("ail"));
+        Assert.assertEquals(-1, stb.indexOf("abc"));
+
+        stb.insert(16, '[').insert(21, ']').deleteCharAt(18);
+
+        Assert.assertEquals("[til]", stb.getWindow());
+
+        stb.flush();
+
+        Assert.assertEquals("0123456789abcdef[til]", sink.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testFlushedPartIsNotReachable() {
+        stb.append("0123456789abcdef").append("tail");
+        stb.charAt(3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReverseAfterFlush() {
+        stb.append("0123456789abcdef").reverse();
+    }
+
+    @Test
+    public void testLargeAppendBypassesWindow() {
+        String large = "x".repeat(100);
+
+        stb.append("head").append(large);
+
+        Assert.assertEquals("head" + large, sink.toString());
+        Assert.assertEquals(HIGH_WATER_MARK, stb.getCapacity());
+    }
+
+    @Test
+    public void testUsableAsWriter() throws Exception {
+        try (PrintWriter writer = new PrintWriter(stb)) {
+            for (int i = 0; i < 100; i++) {
+                writer.printf("row %d%n", i);
+            }
+        }
+
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append(String.format("row %d%n", i));
+        }
+
+        Assert.assertEquals(expected.toString(), sink.toString());
+    }
+
+    @Test
+    public void testEncodesToStreamAndChannel() throws Exception {
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ByteArrayOutputStream channel = new ByteArrayOutputStream();
+
+        try (StreamingBuilder toStream = new StreamingBuilder(stream, StandardCharsets.UTF_8, 7);
+             StreamingBuilder toChannel = new StreamingBuilder(Channels.newChannel(channel), StandardCharsets.UTF_8, 7)) {
+            for (int i = 0; i < 1000; i++) {
+                expected.append("\ud83d\ude00").append(i);
+                toStream.append("\ud83d\ude00").append(i);
+                toChannel.append("\ud83d\ude00").append(i);
+            }
+        }
+
+        byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(bytes, stream.toByteArray());
+        Assert.assertArrayEquals(bytes, channel.toByteArray());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        stb.append("abc");
+        stb.close();
+        stb.close();
+
+        Assert.assertEquals("abc", sink.toString());
+
+        try {
+            stb.append('x');
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Builder is closed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWholeContentAfterFlush() {
+        StreamingBuilder small = new StreamingBuilder(sink, 4);
+        char[] chars = new char[2];
+
+        small.append("abcdef").append("gh");
+
+        Assert.assertEquals(8, small.length());
+        Assert.assertEquals("gh", small.getWindow());
+        Assert.assertTrue(small.endsWith("h"));
+        Assert.assertEquals("h", small.subSequence(7, 8).toString());
+
+        small.getChars(6, 8, chars, 0);
+        Assert.assertArrayEquals(new char[] { 'g', 'h' }, chars);
+
+        for (Runnable call : new Runnable[] { small::toString, small::freeze, () -> small.startsWith("a"),
+                () -> small.endsWith("fgh"), () -> small.append((CharSequence) small),
+                () -> small.encodeTo(ByteBuffer.allocate(16), StandardCharsets.UTF_8) }) {
+            try {
+                call.run();
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("Content was already flushed.", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testSelfAppendBeforeFlush() {
+        stb.append("ab").append((CharSequence) stb).insert(1, (CharSequence) stb);
+
+        Assert.assertEquals("aabab" + "bab", stb.toString());
+    }
+
+    @Test
+    public void testMutationsAfterClose() throws Exception {
+        stb.append("ab");
+        stb.close();
+
+        for (Runnable call : new Runnable[] { () -> stb.insert(2, "zz"), () -> stb.insert(0, 'z'),
+                () -> stb.insert(1, 5), () -> stb.delete(0, 1), () -> stb.deleteCharAt(0),
+                () -> stb.append(new char[] { 'z' }, 0, 1), () -> stb.reverse() }) {
+            try {
+                call.run();
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertEquals("Builder is closed.", e.getMessage());
+            }
+        }
+
+        Assert.assertEquals(2, stb.length());
+        Assert.assertEquals("ab", sink.toString());
+    }
+}
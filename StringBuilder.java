@@ -1,25 +1,70 @@
 package Coding.StringBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 
 public class StringBuilder implements Builder {
 
     private final static int DEFAULT_SIZE = 10;
 
-    private final static int RESIZING_FACTOR = 2;
-
     private char[] arr;
 
     private final static int LOAD_FACTOR = 75;
 
+    private final static int DEFAULT_MATCH_CAPACITY = 16;
+
+    private final GrowthPolicy growthPolicy;
+
+    private int threshold;
+
+    private final static char[] TRUE_CHARS = { 't', 'r', 'u', 'e' };
+
+    private final static char[] FALSE_CHARS = { 'f', 'a', 'l', 's', 'e' };
+
     private int index = 0;
 
+    /**
+     * Counts the changes that move or overwrite existing chars, which invalidate the views of subSequence.
+     */
+    private int modificationCount = 0;
+
+    /**
+     * Chars below this length are seen by a snapshot from freeze, so the array is copied before they change.
+     */
+    private int sharedLength = 0;
+
+    /**
+     * Result of the last toString, valid while the length matches and no char below it has changed.
+     */
+    private String cachedString;
+
+    /**
+     * The larger of sharedLength and the length of cachedString: writes at or past it need no extra work.
+     */
+    private int frozenLength = 0;
+
     public StringBuilder() {
-        arr = new char[DEFAULT_SIZE];
+        this(DEFAULT_SIZE);
     }
 
     public StringBuilder(int capacity) {
+        this(capacity, new DoublingGrowthPolicy(LOAD_FACTOR));
+    }
+
+    public StringBuilder(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0 || growthPolicy == null) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        this.growthPolicy = growthPolicy;
         arr = new char[capacity];
+        threshold = growthPolicy.getThreshold(capacity);
     }
 
     public StringBuilder(String value) {
@@ -27,14 +72,15 @@ public class StringBuilder implements Builder {
             throw new InvalidParameterException("Invalid value.");
         }
 
-        char[] valueCharArr = value.toCharArray();
         int strLength = value.length();
 
-        int desiredSize = getRequiredSize(DEFAULT_SIZE, strLength);
+        growthPolicy = new DoublingGrowthPolicy(LOAD_FACTOR);
+        arr = new char[DEFAULT_SIZE];
+        threshold = growthPolicy.getThreshold(DEFAULT_SIZE);
 
-        arr = new char[desiredSize];
+        ensureEnoughSpace(strLength);
 
-        System.arraycopy(valueCharArr, 0, arr, 0, strLength);
+        value.getChars(0, strLength, arr, 0);
         updateIndex(index + strLength);
     }
 
@@ -54,11 +100,60 @@ public class StringBuilder implements Builder {
         return arr.length;
     }
 
+    /**
+     * Truncate the content to the new length, or pad it with '\0' up to it, keeping the current array when it fits.
+     *
+     * @param newLength
+     */
+    public void setLength(int newLength) {
+        if (newLength < 0) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        if (newLength > index) {
+            ensureEnoughSpace(newLength - index);
+            prepareWrite(index);
+            Arrays.fill(arr, index, newLength, '\0');
+        }
+
+        updateIndex(newLength);
+    }
+
+    /**
+     * Drop the content but keep the array, so the builder can be filled again without growing.
+     */
+    public StringBuilder reset() {
+        updateIndex(0);
+
+        return this;
+    }
+
+    /**
+     * Grow once, if needed, so that the content can reach the given length without growing again.
+     */
+    @Override
+    public void ensureCapacity(int minimumCapacity) {
+        if (minimumCapacity > index) {
+            ensureEnoughSpace(minimumCapacity - index);
+        }
+    }
+
+    /**
+     * Shrink the array to the length of the content.
+     */
+    public void trimToSize() {
+        if (index < arr.length) {
+            resizeArrayAndCopyContent(index);
+        }
+    }
+
     @Override
     public Builder deleteCharAt(int position) {
         checkPositionOutOfBounds(position);
+        prepareWrite(position);
 
-        shiftElementsLeft(position, index);
+        System.arraycopy(arr, position + 1, arr, position, index - position - 1);
+        BuilderMetrics.recordShift(index - position - 1);
         updateIndex(index - 1);
 
         return this;
@@ -73,7 +168,9 @@ public class StringBuilder implements Builder {
         int elementsToDelete = end - start;
 
         if (end != index) {
+            prepareWrite(start);
             System.arraycopy(arr, end, arr, start, index - end);
+            BuilderMetrics.recordShift(index - end);
         }
 
         updateIndex(index - elementsToDelete);
@@ -81,45 +178,395 @@ public class StringBuilder implements Builder {
         return this;
     }
 
+    /**
+     * Replace the chars between start and end with the value, moving the rest of the content once.
+     */
     @Override
-    public Builder reverse() {
-        int middleIndex = index / 2;
+    public Builder replace(int start, int end, CharSequence value) {
+        if (start < 0 || start > end || end > index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        if (value == this || value instanceof SubSequence && ((SubSequence) value).isViewOf(this)) {
+            value = value.toString();
+        }
+
+        int length = value.length();
+        int newIndex = index + length - (end - start);
+
+        if (newIndex > index) {
+            ensureEnoughSpace(newIndex - index);
+        }
+
+        prepareWrite(start);
+        System.arraycopy(arr, end, arr, start + length, index - end);
+        BuilderMetrics.recordShift(index - end);
+        copyChars(value, 0, length, start);
+        modificationCount++;
+        updateIndex(newIndex);
+
+        return this;
+    }
+
+    /**
+     * Replace every occurrence of the target, scanning left to right, the same way String.replace does.
+     * A replacement that is not longer than the target is compacted in place in one pass. A longer one
+     * records the matches first, grows the array once and fills it from the end, so every char moves once.
+     */
+    @Override
+    public Builder replaceAll(CharSequence target, CharSequence replacement) {
+        String targetValue = target.toString();
+        String replacementValue = replacement.toString();
+        int targetLength = targetValue.length();
+        int replacementLength = replacementValue.length();
+
+        if (targetLength == 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        int match = StringSearch.indexOf(arr, index, targetValue, 0);
+
+        if (match < 0) {
+            return this;
+        }
+
+        int first = match;
+
+        if (replacementLength <= targetLength) {
+            prepareWrite(match);
+
+            int write = match;
+            int read = match;
+
+            while (match >= 0) {
+                System.arraycopy(arr, read, arr, write, match - read);
+                write += match - read;
+                replacementValue.getChars(0, replacementLength, arr, write);
+                write += replacementLength;
+                read = match + targetLength;
+                match = StringSearch.indexOf(arr, index, targetValue, read);
+            }
+
+            System.arraycopy(arr, read, arr, write, index - read);
+            BuilderMetrics.recordShift(write + index - read - first);
+            modificationCount++;
+            updateIndex(write + index - read);
+
+            return this;
+        }
+
+        int[] matches = new int[DEFAULT_MATCH_CAPACITY];
+        int count = 0;
+
+        while (match >= 0) {
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, count * 2);
+            }
+
+            matches[count++] = match;
+            match = StringSearch.indexOf(arr, index, targetValue, match + targetLength);
+        }
+
+        ensureEnoughSpace(Math.multiplyExact(count, replacementLength - targetLength));
+        prepareWrite(first);
+
+        int read = index;
+        int write = index + count * (replacementLength - targetLength);
+
+        for (int i = count - 1; i >= 0; i--) {
+            int tail = read - (matches[i] + targetLength);
+
+            write -= tail;
+            System.arraycopy(arr, read - tail, arr, write, tail);
+            write -= replacementLength;
+            replacementValue.getChars(0, replacementLength, arr, write);
+            read = matches[i];
+        }
+
+        BuilderMetrics.recordShift(index + count * (replacementLength - targetLength) - first);
+        modificationCount++;
+        updateIndex(index + count * (replacementLength - targetLength));
+
+        return this;
+    }
+
+    @Override
+    public void findAll(MultiPattern patterns, MultiPattern.MatchHandler handler) {
+        BuilderMetrics.recordSearch();
+
+        patterns.scan(arr, index, handler);
+    }
+
+    /**
+     * Replace the matches of the patterns left to right, taking the longest match at each position, after one
+     * scan of the array. When no replacement is longer than its match the content is compacted in place,
+     * otherwise it is copied once into a new array that already has room for the result.
+     */
+    @Override
+    public Builder replaceAll(MultiPattern patterns, CharSequence[] replacements) {
+        if (replacements.length != patterns.getPatternCount()) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        int[] matches = patterns.selectLeftmostLongest(arr, index);
+
+        if (matches.length == 0) {
+            return this;
+        }
+
+        CharSequence[] values = replacements.clone();
+        long newLength = index;
+        boolean grows = false;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == this || values[i] instanceof SubSequence && ((SubSequence) values[i]).isViewOf(this)) {
+                values[i] = values[i].toString();
+            }
+        }
+
+        for (int i = 0; i < matches.length; i += 2) {
+            int difference = values[matches[i + 1]].length() - patterns.getPattern(matches[i + 1]).length();
+
+            newLength += difference;
+            grows |= difference > 0;
+        }
+
+        if (newLength > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
+        }
+
+        char[] source = arr;
+        int read = matches[0];
+        int write = matches[0];
+
+        if (grows) {
+            int size = newLength > threshold ? growthPolicy.getNewCapacity(arr.length, (int) newLength) : arr.length;
+
+            if (size != arr.length) {
+                BuilderMetrics.recordResize(arr.length, size, index);
+            }
+
+            arr = new char[size];
+            threshold = growthPolicy.getThreshold(size);
+            sharedLength = 0;
+            System.arraycopy(source, 0, arr, 0, read);
+        }
 
-        int oppositeIndex;
-        for (int i = 0; i < middleIndex; i++) {
-            char tmp = arr[i];
-            oppositeIndex = index - 1 - i;
-            arr[i] = arr[oppositeIndex];
-            arr[oppositeIndex] = tmp;
+        // the source is left as it is when the array has to be copied first
+        prepareWrite(read);
+
+        for (int i = 0; i < matches.length; i += 2) {
+            CharSequence value = values[matches[i + 1]];
+
+            System.arraycopy(source, read, arr, write, matches[i] - read);
+            write += matches[i] - read;
+            copyChars(value, 0, value.length(), write);
+            write += value.length();
+            read = matches[i] + patterns.getPattern(matches[i + 1]).length();
         }
 
+        System.arraycopy(source, read, arr, write, index - read);
+        BuilderMetrics.recordShift(write + index - read - matches[0]);
+        modificationCount++;
+        updateIndex(write + index - read);
+
+        return this;
+    }
+
+    /**
+     * Delete every occurrence of the char in one pass, copying the runs between them.
+     */
+    @Override
+    public Builder deleteAll(char value) {
+        int first = CharArrayOperations.INSTANCE.indexOf(arr, index, value, 0);
+        int read = first;
+        int write = first;
+
+        if (first >= 0) {
+            prepareWrite(first);
+        }
+
+        while (read >= 0 && read < index) {
+            int next = CharArrayOperations.INSTANCE.indexOf(arr, index, value, read + 1);
+            int end = next < 0 ? index : next;
+
+            System.arraycopy(arr, read + 1, arr, write, end - read - 1);
+            write += end - read - 1;
+            read = next;
+        }
+
+        if (write >= 0) {
+            BuilderMetrics.recordShift(write - first);
+            updateIndex(write);
+        }
+
+        return this;
+    }
+
+    /**
+     * Delete the ranges from starts[i] to ends[i] in one pass, copying the runs between them.
+     * The ranges must be in ascending order and must not overlap.
+     */
+    @Override
+    public Builder deleteRanges(int[] starts, int[] ends) {
+        if (starts.length != ends.length) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] < 0 || starts[i] > ends[i] || ends[i] > index) {
+                throw new IndexOutOfBoundsException("Index out of range.");
+            }
+
+            if (i > 0 && starts[i] < ends[i - 1]) {
+                throw new InvalidParameterException("Invalid value.");
+            }
+        }
+
+        if (starts.length == 0) {
+            return this;
+        }
+
+        int write = starts[0];
+
+        prepareWrite(write);
+
+        for (int i = 0; i < starts.length; i++) {
+            int end = i + 1 < starts.length ? starts[i + 1] : index;
+
+            System.arraycopy(arr, ends[i], arr, write, end - ends[i]);
+            write += end - ends[i];
+        }
+
+        BuilderMetrics.recordShift(write - starts[0]);
+        updateIndex(write);
+
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        prepareWrite(0);
+        CharArrayOperations.INSTANCE.reverse(arr, index);
+        modificationCount++;
+
         return this;
     }
 
     @Override
     public int lastIndexOf(String value) {
-        return this.toString().lastIndexOf(value);
+        BuilderMetrics.recordSearch();
+
+        return StringSearch.lastIndexOf(arr, index, value, index);
     }
 
     @Override
     public int lastIndexOf(String value, int fromIndex) {
-        return this.toString().lastIndexOf(value, fromIndex);
+        BuilderMetrics.recordSearch();
+
+        return StringSearch.lastIndexOf(arr, index, value, fromIndex);
     }
 
     @Override
     public int indexOf(String value) {
-        return this.toString().indexOf(value);
+        BuilderMetrics.recordSearch();
+
+        return StringSearch.indexOf(arr, index, value, 0);
     }
 
     @Override
     public int indexOf(String value, int fromIndex) {
-        return this.toString().indexOf(value, fromIndex);
+        BuilderMetrics.recordSearch();
+
+        return StringSearch.indexOf(arr, index, value, fromIndex);
+    }
+
+    @Override
+    public int indexOf(char value) {
+        BuilderMetrics.recordSearch();
+
+        return CharArrayOperations.INSTANCE.indexOf(arr, index, value, 0);
+    }
+
+    @Override
+    public int indexOf(char value, int fromIndex) {
+        BuilderMetrics.recordSearch();
+
+        return CharArrayOperations.INSTANCE.indexOf(arr, index, value, fromIndex);
+    }
+
+    @Override
+    public int lastIndexOf(char value) {
+        BuilderMetrics.recordSearch();
+
+        return CharArrayOperations.INSTANCE.lastIndexOf(arr, index, value, index - 1);
+    }
+
+    @Override
+    public int lastIndexOf(char value, int fromIndex) {
+        BuilderMetrics.recordSearch();
+
+        return CharArrayOperations.INSTANCE.lastIndexOf(arr, index, value, fromIndex);
+    }
+
+    /**
+     * @return true when every char is below 0x100, so the content could be stored one byte per char
+     */
+    public boolean isLatin1() {
+        return CharArrayOperations.INSTANCE.isLatin1(arr, 0, index);
+    }
+
+    /**
+     * @return true when every char is below 0x80
+     */
+    public boolean isAscii() {
+        return CharArrayOperations.INSTANCE.isAscii(arr, 0, index);
+    }
+
+    @Override
+    public boolean contains(String value) {
+        BuilderMetrics.recordSearch();
+
+        return StringSearch.indexOf(arr, index, value, 0) >= 0;
+    }
+
+    @Override
+    public boolean startsWith(String prefix) {
+        return prefix.length() <= index && StringSearch.regionMatches(arr, 0, prefix, 0, prefix.length());
+    }
+
+    @Override
+    public boolean endsWith(String suffix) {
+        int start = index - suffix.length();
+
+        return start >= 0 && StringSearch.regionMatches(arr, start, suffix, 0, suffix.length());
+    }
+
+    @Override
+    public int count(String value) {
+        BuilderMetrics.recordSearch();
+
+        int valueLength = value.length();
+
+        if (valueLength == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        for (int position = StringSearch.indexOf(arr, index, value, 0);
+             position >= 0;
+             position = StringSearch.indexOf(arr, index, value, position + valueLength)) {
+            count++;
+        }
+
+        return count;
     }
 
     public StringBuilder append(char value) {
-        arr[index++] = value;
+        ensureEnoughSpace(1);
+        prepareWrite(index);
 
-        probeResizing();
+        arr[index++] = value;
 
         return this;
     }
@@ -134,10 +581,8 @@ public class StringBuilder implements Builder {
     public Builder append(char[] charSequence, int offset, int length) {
         checkIndexExceeded(offset);
         ensureEnoughSpace(length);
-
-        if (offset < index) {
-            System.arraycopy(arr, offset, arr, offset + length, index - offset);
-        }
+        prepareWrite(offset);
+        openGap(offset, length);
 
         System.arraycopy(charSequence, 0, arr, offset, length);
 
@@ -147,7 +592,23 @@ public class StringBuilder implements Builder {
     }
 
     private void ensureEnoughSpace(int length) {
-        int size = getRequiredSize(arr.length, length);
+        int requiredLength = index + length;
+
+        if (requiredLength > threshold || requiredLength < 0) {
+            grow(requiredLength);
+        }
+    }
+
+    private void grow(int requiredLength) {
+        if (requiredLength < 0 || requiredLength > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
+        }
+
+        int size = growthPolicy.getNewCapacity(arr.length, requiredLength);
+
+        if (size < requiredLength) {
+            throw new IllegalStateException("Growth policy returned a capacity below the required length.");
+        }
 
         if (size != arr.length) {
             resizeArrayAndCopyContent(size);
@@ -167,14 +628,14 @@ public class StringBuilder implements Builder {
     @Override
     public Builder insert(int offset, char value) {
         checkIndexExceeded(offset);
+        ensureEnoughSpace(1);
+        prepareWrite(offset);
 
         shiftElementsRight(offset);
 
         arr[offset] = value;
         updateIndex(index + 1);
 
-        probeResizing();
-
         return this;
     }
 
@@ -185,31 +646,97 @@ public class StringBuilder implements Builder {
 
     @Override
     public Builder insert(int offset, String value) {
-        return this.append(value.toCharArray(), offset, value.length());
+        return this.insert(offset, (CharSequence) value);
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        checkIndexExceeded(offset);
+
+        if (value == this || value instanceof SubSequence && ((SubSequence) value).isViewOf(this)) {
+            value = value.toString();
+        }
+
+        int length = value.length();
+
+        ensureEnoughSpace(length);
+        prepareWrite(offset);
+        openGap(offset, length);
+
+        copyChars(value, 0, length, offset);
+        updateIndex(index + length);
+
+        return this;
     }
 
     @Override
     public Builder insert(int offset, int value) {
-        String valueAsStr = String.valueOf(value);
-        return this.append(valueAsStr.toCharArray(), offset, valueAsStr.length());
+        checkIndexExceeded(offset);
+
+        int length = Digits.getDigitCount(value);
+
+        ensureEnoughSpace(length);
+        prepareWrite(offset);
+        openGap(offset, length);
+
+        Digits.getChars(value, offset + length, arr);
+        updateIndex(index + length);
+
+        return this;
     }
 
     @Override
     public Builder insert(int offset, long value) {
-        String valueAsStr = String.valueOf(value);
-        return this.append(valueAsStr.toCharArray(), offset, valueAsStr.length());
+        checkIndexExceeded(offset);
+
+        int length = Digits.getDigitCount(value);
+
+        ensureEnoughSpace(length);
+        prepareWrite(offset);
+        openGap(offset, length);
+
+        Digits.getChars(value, offset + length, arr);
+        updateIndex(index + length);
+
+        return this;
     }
 
     @Override
     public Builder insert(int offset, float value) {
-        String valueAsStr = String.valueOf(value);
-        return this.append(valueAsStr.toCharArray(), offset, valueAsStr.length());
+        checkIndexExceeded(offset);
+        ensureEnoughSpace(FloatingDigits.MAX_FLOAT_LENGTH);
+        prepareWrite(offset);
+
+        // formatted past the end first to measure it, then again in the gap
+        int length = FloatingDigits.getChars(value, arr, index) - index;
+
+        if (offset < index) {
+            openGap(offset, length);
+            FloatingDigits.getChars(value, arr, offset);
+        }
+
+        updateIndex(index + length);
+
+        return this;
     }
 
     @Override
     public Builder insert(int offset, double value) {
-        String valueAsStr = String.valueOf(value);
-        return this.append(valueAsStr.toCharArray(), offset, valueAsStr.length());
+        checkIndexExceeded(offset);
+        ensureEnoughSpace(FloatingDigits.MAX_DOUBLE_LENGTH);
+        prepareWrite(offset);
+
+        // formatted past the end first to measure it, then again in the gap
+        int length = FloatingDigits.getChars(value, arr, index) - index;
+
+        if (offset < index) {
+            openGap(offset, length);
+            FloatingDigits.getChars(value, arr, offset);
+        }
+
+        updateIndex(index + length);
+
+        return this;
     }
 
     @Override
@@ -220,8 +747,7 @@ public class StringBuilder implements Builder {
 
     @Override
     public Builder insert(int offset, Object value) {
-        String objectStrRepresentation = value.toString();
-        return this.append(objectStrRepresentation.toCharArray(), offset, objectStrRepresentation.length());
+        return this.insert(offset, value.toString());
     }
 
     public StringBuilder append(boolean value) {
@@ -233,28 +759,303 @@ public class StringBuilder implements Builder {
     }
 
     public StringBuilder append(int value) {
-        return this.append(String.valueOf(value));
+        int length = Digits.getDigitCount(value);
+
+        ensureEnoughSpace(length);
+        prepareWrite(index);
+
+        Digits.getChars(value, index + length, arr);
+        updateIndex(index + length);
+
+        return this;
     }
 
+    /**
+     * Append the same chars as Float.toString, the shortest decimal that reads back as the same float from Java 19
+     * on.
+     */
     public StringBuilder append(float value) {
-        return this.append(String.valueOf(value));
+        ensureEnoughSpace(FloatingDigits.MAX_FLOAT_LENGTH);
+        prepareWrite(index);
+        updateIndex(FloatingDigits.getChars(value, arr, index));
+
+        return this;
     }
 
+    /**
+     * Append the same chars as Double.toString, the shortest decimal that reads back as the same double from Java 19
+     * on.
+     */
     public StringBuilder append(double value) {
-        return this.append(String.valueOf(value));
+        ensureEnoughSpace(FloatingDigits.MAX_DOUBLE_LENGTH);
+        prepareWrite(index);
+        updateIndex(FloatingDigits.getChars(value, arr, index));
+
+        return this;
+    }
+
+    /**
+     * Append the value in plain notation with exactly the given number of decimals, rounded half-up like
+     * String.format("%.nf") with Locale.ROOT.
+     *
+     * @param value
+     * @param decimals
+     */
+    public StringBuilder append(double value, int decimals) {
+        if (decimals < 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        ensureEnoughSpace(FloatingDigits.getMaxFixedLength(value, decimals));
+        prepareWrite(index);
+        updateIndex(FloatingDigits.getFixedChars(value, decimals, arr, index));
+
+        return this;
+    }
+
+    /**
+     * Append the value in plain notation with exactly the given number of decimals. Like Formatter, it rounds
+     * the value widened to double.
+     *
+     * @param value
+     * @param decimals
+     */
+    public StringBuilder append(float value, int decimals) {
+        return this.append((double) value, decimals);
     }
 
     public StringBuilder append(long value) {
-        return this.append(String.valueOf(value));
+        int length = Digits.getDigitCount(value);
+
+        ensureEnoughSpace(length);
+        prepareWrite(index);
+
+        Digits.getChars(value, index + length, arr);
+        updateIndex(index + length);
+
+        return this;
     }
 
     public StringBuilder append(String value) {
-        return this.append(value.toCharArray());
+        return this.append((CharSequence) value, 0, value.length());
+    }
+
+    @Override
+    public StringBuilder append(CharSequence value) {
+        return this.append(value, 0, value.length());
+    }
+
+    @Override
+    public StringBuilder append(CharSequence value, int start, int end) {
+        if (start < 0 || start > end || end > value.length()) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        int length = end - start;
+
+        ensureEnoughSpace(length);
+        prepareWrite(index);
+
+        copyChars(value, start, end, index);
+        updateIndex(index + length);
+
+        return this;
+    }
+
+    /**
+     * Measure all the values, grow at most once, then copy them in without further checks.
+     */
+    @Override
+    public StringBuilder appendAll(CharSequence... values) {
+        long length = index;
+
+        for (CharSequence value : values) {
+            length += value.length();
+        }
+
+        int selfLength = reserve(length);
+
+        for (CharSequence value : values) {
+            appendReserved(value, selfLength);
+        }
+
+        return this;
+    }
+
+    /**
+     * Measure all the values, grow at most once, then copy them in without further checks. The values are
+     * iterated twice.
+     */
+    @Override
+    public StringBuilder appendAll(Iterable<? extends CharSequence> values) {
+        long length = index;
+
+        for (CharSequence value : values) {
+            length += value.length();
+        }
+
+        int selfLength = reserve(length);
+
+        for (CharSequence value : values) {
+            appendReserved(value, selfLength);
+        }
+
+        return this;
+    }
+
+    /**
+     * Append the items separated by the separator, between the prefix and the suffix, the way a StringJoiner
+     * would. The result is measured first, so the array grows at most once. The items are iterated twice.
+     */
+    @Override
+    public StringBuilder join(CharSequence separator, CharSequence prefix, CharSequence suffix,
+                              Iterable<? extends CharSequence> items) {
+        long length = index + prefix.length() + suffix.length();
+        int count = 0;
+
+        for (CharSequence item : items) {
+            length += item.length();
+            count++;
+        }
+
+        if (count > 1) {
+            length += (long) separator.length() * (count - 1);
+        }
+
+        int selfLength = reserve(length);
+
+        appendReserved(prefix, selfLength);
+
+        boolean first = true;
+
+        for (CharSequence item : items) {
+            if (!first) {
+                appendReserved(separator, selfLength);
+            }
+
+            appendReserved(item, selfLength);
+            first = false;
+        }
+
+        appendReserved(suffix, selfLength);
+
+        return this;
+    }
+
+    /**
+     * Append the value count times, growing at most once. The value is copied in once and then doubled with
+     * copies inside the array, so the number of copies grows with the log of the count.
+     */
+    @Override
+    public StringBuilder appendRepeated(CharSequence value, int count) {
+        if (count < 0) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        int length = value.length();
+        int start = index;
+
+        reserve(index + (long) length * count);
+
+        if (length == 0 || count == 0) {
+            return this;
+        }
+
+        int total = length * count;
+
+        appendReserved(value, start);
+
+        for (int filled = length; filled < total; ) {
+            int chunk = Math.min(filled, total - filled);
+
+            System.arraycopy(arr, start, arr, start + filled, chunk);
+            filled += chunk;
+        }
+
+        index = start + total;
+
+        return this;
+    }
+
+    /**
+     * Copy the chars between srcBegin and srcEnd into the destination array, the same way String.getChars does.
+     *
+     * @param srcBegin
+     * @param srcEnd
+     * @param dst
+     * @param dstBegin
+     */
+    @Override
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        System.arraycopy(arr, srcBegin, dst, dstBegin, srcEnd - srcBegin);
+    }
+
+    @Override
+    public int encodeTo(ByteBuffer target, Charset charset) {
+        return Encoding.encode(this, arr, charset, target);
     }
 
+    @Override
+    public long writeTo(WritableByteChannel channel, Charset charset) throws IOException {
+        return Encoding.write(this, arr, charset, channel);
+    }
+
+    @Override
+    public long writeTo(OutputStream out, Charset charset) throws IOException {
+        return Encoding.write(this, arr, charset, out);
+    }
+
+    /**
+     * View of the chars between start and end that reads the array of this builder instead of copying it.
+     * The view stays valid while the builder only grows at its end; once chars are inserted, deleted, reversed
+     * or truncated, using it throws ConcurrentModificationException.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > index) {
+            throw new IndexOutOfBoundsException("Index out of range.");
+        }
+
+        return new SubSequence(start, end);
+    }
+
+    /**
+     * Snapshot of the content that shares the array instead of copying it. The builder stays usable: appending
+     * past the snapshot costs nothing extra, and the first change to a char the snapshot can see copies the array
+     * once.
+     */
+    @Override
+    public Snapshot freeze() {
+        if (index > sharedLength) {
+            sharedLength = index;
+            frozenLength = Math.max(frozenLength, index);
+        }
+
+        return new Snapshot(arr, 0, index);
+    }
+
+    /**
+     * The chars are copied into a String only when the content has changed since the last call.
+     */
     @Override
     public String toString() {
-        return String.valueOf(arr, 0, index);
+        String result = cachedString;
+
+        if (result != null && result.length() == index) {
+            return result;
+        }
+
+        BuilderMetrics.recordToString(index, arr.length);
+
+        result = String.valueOf(arr, 0, index);
+        cachedString = result;
+        frozenLength = Math.max(sharedLength, index);
+
+        return result;
     }
 
     /**
@@ -268,39 +1069,71 @@ public class StringBuilder implements Builder {
         int charArrLength = elements.length;
 
         ensureEnoughSpace(charArrLength);
+        prepareWrite(index);
 
         System.arraycopy(elements, 0, arr, index, charArrLength);
 
         updateIndex(index + charArrLength);
     }
 
-    private char[] getBooleanCharArrRepresentation(boolean value) {
-        char[] result;
-
-        if (value == Boolean.TRUE) {
-            result = new char[] { 't', 'r', 'u', 'e' };
+    /**
+     * Copy the chars of the sequence between start and end into the array at the given destination,
+     * using the bulk copy of the source type where one is available, so the content is copied exactly once.
+     *
+     * @param value
+     * @param start
+     * @param end
+     * @param destination
+     */
+    private void copyChars(CharSequence value, int start, int end, int destination) {
+        if (value instanceof String) {
+            ((String) value).getChars(start, end, arr, destination);
+        } else if (value instanceof StringBuilder) {
+            System.arraycopy(((StringBuilder) value).arr, start, arr, destination, end - start);
+        } else if (value instanceof SubSequence) {
+            ((SubSequence) value).getChars(start, end, arr, destination);
+        } else if (value instanceof Snapshot) {
+            ((Snapshot) value).getChars(start, end, arr, destination);
+        } else if (value instanceof java.lang.StringBuilder) {
+            ((java.lang.StringBuilder) value).getChars(start, end, arr, destination);
+        } else if (value instanceof StringBuffer) {
+            ((StringBuffer) value).getChars(start, end, arr, destination);
         } else {
-            result = new char[] { 'f', 'a', 'l', 's', 'e' };
+            for (int i = start; i < end; i++) {
+                arr[destination++] = value.charAt(i);
+            }
         }
-
-        return result;
     }
 
-    private void probeResizing() {
-        if (getPercentageOccupied(index, arr.length) >= LOAD_FACTOR) {
-            resizeArrayAndCopyContent(arr.length * RESIZING_FACTOR);
+    /**
+     * Make room for the content to reach the given length and prepare writing past the current end.
+     *
+     * @return the current length, which is what this builder counts as when it is one of the values
+     */
+    private int reserve(long length) {
+        if (length > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity exceeds the maximum array size.");
         }
+
+        ensureEnoughSpace((int) length - index);
+        prepareWrite(index);
+
+        return index;
     }
 
-    private int getRequiredSize(int currentLength, int arrSize) {
-        int arrSpace = currentLength;
+    /**
+     * Copy a value measured by the caller, whose room is already reserved. The builder itself is copied with the
+     * length it had when it was measured.
+     */
+    private void appendReserved(CharSequence value, int selfLength) {
+        int length = value == this ? selfLength : value.length();
 
-        // @TODO Optimize
-        while ((arrSpace - index) < arrSize || getPercentageOccupied(index + arrSize, arrSpace) > LOAD_FACTOR) {
-            arrSpace *= RESIZING_FACTOR;
-        }
+        copyChars(value, 0, length, index);
+        index += length;
+    }
 
-        return arrSpace;
+    private char[] getBooleanCharArrRepresentation(boolean value) {
+        return value ? TRUE_CHARS : FALSE_CHARS;
     }
 
     private void checkPositionOutOfBounds(int position) {
@@ -310,32 +1143,129 @@ public class StringBuilder implements Builder {
     }
 
     private void resizeArrayAndCopyContent(int size) {
+        BuilderMetrics.recordResize(arr.length, size, index);
+
         char[] resizedArr = new char[size];
         System.arraycopy(arr, 0, resizedArr, 0, index);
         arr = resizedArr;
+        threshold = growthPolicy.getThreshold(size);
+        sharedLength = 0;
+        frozenLength = cachedString == null ? 0 : cachedString.length();
     }
 
-    private long getPercentageOccupied(int elements, int totalElements) {
-        return Math.round(((float) elements / (float) totalElements) * 100);
-    }
-
-    private void shiftElementsLeft(int position, int lastElementPos) {
-        int nextPos;
-
-        while (position < lastElementPos) {
-            nextPos = position + 1;
-            arr[position] = arr[nextPos];
-            position = nextPos;
+    private void openGap(int offset, int length) {
+        if (offset < index) {
+            System.arraycopy(arr, offset, arr, offset + length, index - offset);
+            BuilderMetrics.recordShift(index - offset);
+            modificationCount++;
         }
     }
 
     private void shiftElementsRight(int position) {
-        if (index - position >= 0) {
+        if (index - position > 0) {
             System.arraycopy(arr, position, arr, position + 1, index - position);
+            BuilderMetrics.recordShift(index - position);
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Called before writing chars from the position on: copies the array if a snapshot can see them and drops
+     * the cached String if it contains them.
+     */
+    private void prepareWrite(int position) {
+        if (position < frozenLength) {
+            if (position < sharedLength) {
+                char[] copy = new char[arr.length];
+
+                System.arraycopy(arr, 0, copy, 0, index);
+                arr = copy;
+                sharedLength = 0;
+            }
+
+            if (cachedString != null && position < cachedString.length()) {
+                cachedString = null;
+            }
+
+            frozenLength = Math.max(sharedLength, cachedString == null ? 0 : cachedString.length());
         }
     }
 
     private void updateIndex(int size) {
+        if (size < index) {
+            modificationCount++;
+        }
+
+        // an emptied builder, such as one reset for a pool, should not keep its last String alive
+        if (size == 0 && cachedString != null) {
+            cachedString = null;
+            frozenLength = sharedLength;
+        }
+
         index = size;
     }
+
+    private final class SubSequence implements CharSequence {
+
+        private final int start;
+
+        private final int end;
+
+        private final int expectedModificationCount;
+
+        private SubSequence(int start, int end) {
+            this.start = start;
+            this.end = end;
+            this.expectedModificationCount = modificationCount;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int position) {
+            if (position < 0 || position >= end - start) {
+                throw new IndexOutOfBoundsException("Index out of range.");
+            }
+
+            checkModification();
+
+            return arr[start + position];
+        }
+
+        @Override
+        public CharSequence subSequence(int subStart, int subEnd) {
+            if (subStart < 0 || subStart > subEnd || subEnd > end - start) {
+                throw new IndexOutOfBoundsException("Index out of range.");
+            }
+
+            checkModification();
+
+            return new SubSequence(start + subStart, start + subEnd);
+        }
+
+        @Override
+        public String toString() {
+            checkModification();
+
+            return String.valueOf(arr, start, end - start);
+        }
+
+        private boolean isViewOf(StringBuilder builder) {
+            return StringBuilder.this == builder;
+        }
+
+        private void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+            checkModification();
+            System.arraycopy(arr, start + srcBegin, dst, dstBegin, srcEnd - srcBegin);
+        }
+
+        private void checkModification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException("Builder was modified.");
+            }
+        }
+    }
 }
@@ -3,7 +3,15 @@ package Coding.StringBuilder;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidParameterException;
+import java.util.List;
 
 public class StringBuilderTest {
 
@@ -49,6 +57,99 @@ public class StringBuilderTest {
         Assert.assertEquals(90, sb.length());
     }
 
+    @Test
+    public void testExactFitGrowthPolicy() {
+        sb = new StringBuilder(2, new ExactFitGrowthPolicy());
+
+        sb.append("AB");
+        Assert.assertEquals(2, sb.getCapacity());
+
+        sb.append("CDE");
+        Assert.assertEquals(5, sb.getCapacity());
+        Assert.assertEquals("ABCDE", sb.toString());
+    }
+
+    @Test
+    public void testProportionalGrowthPolicy() {
+        sb = new StringBuilder(10, new ProportionalGrowthPolicy(150));
+
+        sb.append("0123456789");
+        Assert.assertEquals(10, sb.getCapacity());
+
+        sb.append('A');
+        Assert.assertEquals(15, sb.getCapacity());
+
+        sb.append("0123456789012345678901234567890123456789");
+        Assert.assertEquals(51, sb.getCapacity());
+    }
+
+    @Test
+    public void testDoublingGrowthPolicyFromEmptyCapacity() {
+        sb = new StringBuilder(0);
+
+        sb.append('A');
+
+        Assert.assertEquals(2, sb.getCapacity());
+        Assert.assertEquals("A", sb.toString());
+    }
+
+    @Test
+    public void testDoublingGrowthPolicyDoesNotOverflow() {
+        GrowthPolicy policy = new DoublingGrowthPolicy(75);
+
+        Assert.assertEquals(GrowthPolicy.MAX_CAPACITY, policy.getNewCapacity(1 << 30, (1 << 30) + 5));
+        Assert.assertEquals(GrowthPolicy.MAX_CAPACITY, policy.getNewCapacity(10, GrowthPolicy.MAX_CAPACITY - 1));
+        Assert.assertEquals(160, policy.getNewCapacity(10, 90));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCappedGrowthPolicy() {
+        sb = new StringBuilder(4, new CappedGrowthPolicy(new DoublingGrowthPolicy(75), 12));
+
+        sb.append("0123456789");
+        Assert.assertEquals(12, sb.getCapacity());
+
+        sb.append("ABC");
+    }
+
+    @Test
+    public void testSetLength() {
+        sb.append("Hello World");
+        int capacity = sb.getCapacity();
+
+        sb.setLength(5);
+
+        Assert.assertEquals("Hello", sb.toString());
+        Assert.assertEquals(capacity, sb.getCapacity());
+
+        sb.setLength(7);
+
+        Assert.assertEquals("Hello\0\0", sb.toString());
+    }
+
+    @Test
+    public void testResetKeepsCapacity() {
+        sb.append("Some content that grows the array");
+        int capacity = sb.getCapacity();
+
+        sb.reset().append("abc");
+
+        Assert.assertEquals("abc", sb.toString());
+        Assert.assertEquals(capacity, sb.getCapacity());
+    }
+
+    @Test
+    public void testTrimToSize() {
+        sb.append("Some content that grows the array");
+        sb.trimToSize();
+
+        Assert.assertEquals(33, sb.getCapacity());
+
+        sb.append('!');
+
+        Assert.assertEquals("Some content that grows the array!", sb.toString());
+    }
+
     @Test
     public void testAppendChar() {
         sb.append('A');
@@ -230,6 +331,51 @@ public class StringBuilderTest {
         Assert.assertEquals(DEFAULT_SPACE * 2, sb.getCapacity());
     }
 
+    @Test
+    public void testAppendCharSequence() {
+        sb.append(new java.lang.StringBuilder("ABC"));
+        sb.append(java.nio.CharBuffer.wrap("DEF"));
+        sb.append("xGHIx", 1, 4);
+
+        Assert.assertEquals(9, sb.length());
+        Assert.assertEquals("ABCDEFGHI", sb.toString());
+        Assert.assertEquals(DEFAULT_SPACE * 2, sb.getCapacity());
+
+        sb.append(sb);
+
+        Assert.assertEquals("ABCDEFGHIABCDEFGHI", sb.toString());
+    }
+
+    @Test
+    public void testInsertCharSequence() {
+        sb.append("AD");
+        sb.insert(1, new StringBuffer("BC"));
+        sb.insert(0, java.nio.CharBuffer.wrap(">"));
+
+        Assert.assertEquals(">ABCD", sb.toString());
+
+        sb.insert(1, sb);
+
+        Assert.assertEquals(">>ABCDABCD", sb.toString());
+    }
+
+    @Test
+    public void testGetChars() {
+        sb.append("HelloWorld");
+
+        char[] destination = new char[7];
+        destination[0] = '>';
+        destination[6] = '<';
+        sb.getChars(3, 8, destination, 1);
+
+        Assert.assertArrayEquals(new char[] { '>', 'l', 'o', 'W', 'o', 'r', '<' }, destination);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAppendCharSequenceOutOfRange() {
+        sb.append("ABC", 2, 4);
+    }
+
     @Test
     public void testAppendBoolean() {
         sb.append(Boolean.TRUE);
@@ -368,6 +514,55 @@ public class StringBuilderTest {
         Assert.assertEquals("178923456", sb.toString());
     }
 
+    @Test
+    public void testAppendIntBoundaries() {
+        sb.append(Integer.MIN_VALUE).append(',').append(Integer.MAX_VALUE).append(',').append(-7).append(',').append(0);
+
+        Assert.assertEquals("-2147483648,2147483647,-7,0", sb.toString());
+    }
+
+    @Test
+    public void testAppendLong() {
+        sb.append(Long.MIN_VALUE).append(',').append(Long.MAX_VALUE).append(',').append(-1234567890123L).append(',').append(42L);
+
+        Assert.assertEquals("-9223372036854775808,9223372036854775807,-1234567890123,42", sb.toString());
+    }
+
+    @Test
+    public void testInsertLong() {
+        sb.append("[]");
+        sb.insert(1, 9876543210L);
+        sb.insert(0, -5L);
+
+        Assert.assertEquals(14, sb.length());
+        Assert.assertEquals("-5[9876543210]", sb.toString());
+    }
+
+    @Test
+    public void testNumericAndBooleanAppendsDoNotAllocate() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        sb = new StringBuilder(1 << 20);
+        appendNumbersAndBooleans(sb, 1_000);
+        sb = new StringBuilder(1 << 20);
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        appendNumbersAndBooleans(sb, 10_000);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        // a single String per call would already be well above 10_000 * 24 bytes
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private void appendNumbersAndBooleans(StringBuilder builder, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            builder.append(i - 5_000).append(i * 1_000_003L).append(i % 2 == 0);
+            builder.insert(0, i).insert(0, -i * 31L).insert(0, i % 3 == 0);
+            builder.delete(0, builder.length());
+        }
+    }
+
     @Test
     public void testDeleteCharAtIndex() {
         sb.append("Dummy");
@@ -497,6 +692,45 @@ public class StringBuilderTest {
         Assert.assertEquals(5, sb.indexOf("H", 1));
     }
 
+    @Test
+    public void testIndexOfLongPattern() {
+        String pattern = "needle-in-a-haystack";
+
+        for (int i = 0; i < 100; i++) {
+            sb.append("needle-in-a-haystacK");
+        }
+        sb.append(pattern);
+        sb.append("tail");
+
+        Assert.assertEquals(2000, sb.indexOf(pattern));
+        Assert.assertEquals(2000, sb.lastIndexOf(pattern));
+        Assert.assertEquals(-1, sb.indexOf(pattern, 2001));
+        Assert.assertEquals(-1, sb.lastIndexOf(pattern, 1999));
+    }
+
+    @Test
+    public void testContainsStartsWithEndsWith() {
+        sb.append("HelloHello");
+
+        Assert.assertTrue(sb.contains("oH"));
+        Assert.assertFalse(sb.contains("HH"));
+        Assert.assertTrue(sb.startsWith("Hell"));
+        Assert.assertFalse(sb.startsWith("ello"));
+        Assert.assertTrue(sb.endsWith("llo"));
+        Assert.assertFalse(sb.endsWith("HelloHelloHello"));
+        Assert.assertTrue(sb.startsWith(""));
+    }
+
+    @Test
+    public void testCount() {
+        sb.append("aaaa,b,aa");
+
+        Assert.assertEquals(3, sb.count("aa"));
+        Assert.assertEquals(2, sb.count(","));
+        Assert.assertEquals(0, sb.count("x"));
+        Assert.assertEquals(0, sb.count(""));
+    }
+
     @Test
     public void testLastIndexOf() {
         sb.append("HelloHello");
@@ -629,6 +863,46 @@ public class StringBuilderTest {
         Assert.assertEquals("ymmuD", sb.reverse().toString());
     }
 
+    @Test
+    public void testReverseLongContent() {
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i);
+            expected.append(i);
+        }
+
+        Assert.assertEquals(expected.reverse().toString(), sb.reverse().toString());
+    }
+
+    @Test
+    public void testIndexOfChar() {
+        sb.append("HelloHello");
+
+        Assert.assertEquals(2, sb.indexOf('l'));
+        Assert.assertEquals(7, sb.indexOf('l', 4));
+        Assert.assertEquals(8, sb.lastIndexOf('l'));
+        Assert.assertEquals(3, sb.lastIndexOf('l', 6));
+        Assert.assertEquals(-1, sb.indexOf('x'));
+    }
+
+    @Test
+    public void testIsLatin1AndIsAscii() {
+        sb.append("Hello");
+
+        Assert.assertTrue(sb.isAscii());
+        Assert.assertTrue(sb.isLatin1());
+
+        sb.append('\u00e9');
+
+        Assert.assertFalse(sb.isAscii());
+        Assert.assertTrue(sb.isLatin1());
+
+        sb.append('\u20ac');
+
+        Assert.assertFalse(sb.isLatin1());
+    }
+
     @Test
     public void testReverseOneCharacter() {
         sb.append('A');
@@ -648,4 +922,342 @@ public class StringBuilderTest {
 
         Assert.assertEquals("BA", sb.reverse().toString());
     }
+
+    @Test
+    public void testEncodeToMatchesGetBytes() {
+        String content = "ascii run, then caf\u00e9, \u20ac, \ud83d\ude00 and a lone \ud800 surrogate";
+        sb.append(content);
+
+        for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1,
+                StandardCharsets.US_ASCII, StandardCharsets.UTF_16LE }) {
+            ByteBuffer heap = ByteBuffer.allocate(256);
+            ByteBuffer direct = ByteBuffer.allocateDirect(256);
+
+            int written = sb.encodeTo(heap, charset);
+            sb.encodeTo(direct, charset);
+
+            byte[] expected = content.getBytes(charset);
+            byte[] fromDirect = new byte[direct.flip().remaining()];
+            direct.get(fromDirect);
+
+            Assert.assertEquals(expected.length, written);
+            Assert.assertArrayEquals(expected, java.util.Arrays.copyOf(heap.array(), written));
+            Assert.assertArrayEquals(expected, fromDirect);
+        }
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testEncodeToOverflow() {
+        sb.append("too long for the buffer");
+        sb.encodeTo(ByteBuffer.allocate(8), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testWriteToStreamAndChannel() throws Exception {
+        java.lang.StringBuilder expected = new java.lang.StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            expected.append(i % 7 == 0 ? "\ud83d\ude00" : "line ").append(i).append('\n');
+        }
+        sb.append(expected);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ByteArrayOutputStream channel = new ByteArrayOutputStream();
+
+        long streamBytes = sb.writeTo(stream);
+        long channelBytes = sb.writeTo(Channels.newChannel(channel));
+
+        byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(bytes, stream.toByteArray());
+        Assert.assertArrayEquals(bytes, channel.toByteArray());
+        Assert.assertEquals(bytes.length, streamBytes);
+        Assert.assertEquals(bytes.length, channelBytes);
+    }
+
+    @Test
+    public void testAppendAndInsertFloatingPoint() {
+        sb.append(1.5).append(' ').append(-0.0f).append(' ').append(1.0E-5).append(' ').append(Double.NaN);
+        sb.insert(0, 2.5f).insert(3, Double.NEGATIVE_INFINITY);
+
+        Assert.assertEquals("2.5-Infinity1.5 -0.0 1.0E-5 NaN", sb.toString());
+    }
+
+    @Test
+    public void testFloatingPointMatchesToString() {
+        Builder[] builders = { new StringBuilder(), new CompactStringBuilder(), new GapBuilder(), new RopeBuilder(),
+                new OffHeapBuilder(), new ChunkedBuilder() };
+        java.util.Random random = new java.util.Random(16);
+
+        for (Builder builder : builders) {
+            java.lang.StringBuilder expected = new java.lang.StringBuilder();
+
+            for (int i = 0; i < 100_000; i++) {
+                double d = i % 2 == 0 ? Double.longBitsToDouble(random.nextLong()) : random.nextInt() / Math.pow(10, i % 20);
+                float f = Float.intBitsToFloat(random.nextInt());
+
+                builder.append(d).append(' ').append(f).append(' ');
+                expected.append(d).append(' ').append(f).append(' ');
+
+                if (i % 100 == 0) {
+                    builder.insert(1, f).insert(0, d);
+                    expected.insert(1, f).insert(0, d);
+                    Assert.assertEquals(expected.toString(), builder.toString());
+
+                    builder.delete(0, builder.length());
+                    expected.setLength(0);
+                }
+            }
+        }
+
+        ((OffHeapBuilder) builders[4]).close();
+
+        Assert.assertEquals(Double.toString(4.8124779976614595E18),
+                new StringBuilder().append(4.8124779976614595E18).toString());
+        Assert.assertEquals(Double.toString(2e23), new StringBuilder().append(2e23).toString());
+        Assert.assertEquals("4.9E-324", new StringBuilder().append(Double.MIN_VALUE).toString());
+        Assert.assertEquals("3.4028235E38", new StringBuilder().append(Float.MAX_VALUE).toString());
+    }
+
+    @Test
+    public void testInsertFloatingPointDoesNotGrow() {
+        StringBuilder builder = new StringBuilder(40, new ExactFitGrowthPolicy());
+        builder.append("0123456789");
+
+        builder.insert(5, -2.2250738585072014E-308);
+
+        Assert.assertEquals("01234-2.2250738585072014E-30856789", builder.toString());
+        Assert.assertEquals(40, builder.getCapacity());
+    }
+
+    @Test
+    public void testAppendFixedDecimals() {
+        java.util.Random random = new java.util.Random(16);
+
+        for (int i = 0; i < 50_000; i++) {
+            double d = (random.nextInt(2_000_000) - 1_000_000) / Math.pow(10, random.nextInt(9));
+            int decimals = random.nextInt(7);
+
+            Assert.assertEquals(String.format(java.util.Locale.ROOT, "%." + decimals + "f", d),
+                    new StringBuilder().append(d, decimals).toString());
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 15);
+            int decimals = random.nextInt(20);
+
+            Assert.assertEquals(String.format(java.util.Locale.ROOT, "%." + decimals + "f", d),
+                    new StringBuilder().append(d, decimals).toString());
+        }
+
+        Assert.assertEquals(String.format(java.util.Locale.ROOT, "%.1f", -2.4588480057184792E16),
+                new StringBuilder().append(-2.4588480057184792E16, 1).toString());
+
+        sb.append(0.5, 0).append(';').append(0.125, 2).append(';').append(-0.001, 2).append(';')
+                .append(9.995, 2).append(';').append(1e20, 1).append(';').append(2.5f, 3);
+
+        Assert.assertEquals("1;0.13;-0.00;10.00;100000000000000000000.0;2.500", sb.toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testAppendNegativeDecimals() {
+        sb.append(1.0, -1);
+    }
+
+    @Test
+    public void testSubSequenceIsView() {
+        sb.append("key=value;other=thing");
+        CharSequence value = sb.subSequence(4, 9);
+
+        sb.append(";more content that makes the array grow");
+
+        Assert.assertEquals("value", value.toString());
+        Assert.assertEquals('v', value.charAt(0));
+        Assert.assertEquals("al", value.subSequence(1, 3).toString());
+        Assert.assertTrue("value".contentEquals(value));
+
+        StringBuilder target = new StringBuilder();
+        target.append("[").append(value).append("]").insert(1, value.subSequence(0, 1));
+        Assert.assertEquals("[vvalue]", target.toString());
+
+        sb.insert(0, sb.subSequence(0, 3));
+        Assert.assertTrue(sb.toString().startsWith("keykey=value"));
+    }
+
+    @Test(expected = java.util.ConcurrentModificationException.class)
+    public void testSubSequenceDetectsDelete() {
+        sb.append("key=value");
+        CharSequence value = sb.subSequence(4, 9);
+
+        sb.delete(0, 4);
+        value.charAt(0);
+    }
+
+    @Test(expected = java.util.ConcurrentModificationException.class)
+    public void testSubSequenceDetectsInsert() {
+        sb.append("key=value");
+        CharSequence value = sb.subSequence(4, 9);
+
+        sb.insert(0, 'x');
+        value.toString();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSubSequenceOutOfRange() {
+        sb.append("key");
+        sb.subSequence(1, 4);
+    }
+
+    @Test
+    public void testCharSequenceAndAppendable() throws Exception {
+        sb.append("id=42, id=7");
+
+        java.util.regex.Matcher matcher = java.util.regex.Pattern.compile("id=(\\d+)").matcher(sb);
+        Assert.assertTrue(matcher.find());
+        Assert.assertEquals("42", matcher.group(1));
+
+        java.io.StringWriter writer = new java.io.StringWriter();
+        writer.append(sb, 0, 5);
+        Assert.assertEquals("id=42", writer.toString());
+
+        Appendable appendable = new StringBuilder();
+        appendable.append("a").append('b').append("xcx", 1, 2);
+        Assert.assertEquals("abc", appendable.toString());
+    }
+
+    @Test
+    public void testReplace() {
+        sb.append("hello world");
+
+        sb.replace(0, 5, "goodbye");
+        Assert.assertEquals("goodbye world", sb.toString());
+
+        sb.replace(8, 13, "all");
+        Assert.assertEquals("goodbye all", sb.toString());
+
+        sb.replace(11, 11, "!").replace(0, 0, sb.subSequence(8, 11));
+        Assert.assertEquals("allgoodbye all!", sb.toString());
+    }
+
+    @Test
+    public void testReplaceAll() {
+        sb.append("a,b,,c,");
+
+        Assert.assertEquals("a;b;;c;", sb.replaceAll(",", ";").toString());
+        Assert.assertEquals("a<sep>b<sep><sep>c<sep>", sb.replaceAll(";", "<sep>").toString());
+        Assert.assertEquals("a b  c ", sb.replaceAll("<sep>", " ").toString());
+        Assert.assertEquals("a b  c ", sb.replaceAll("missing", "x").toString());
+        Assert.assertEquals("abc", sb.replaceAll(" ", "").toString());
+        Assert.assertEquals("xa", new StringBuilder().append("aaa").replaceAll("aa", "x").toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testReplaceAllEmptyTarget() {
+        sb.append("abc").replaceAll("", "x");
+    }
+
+    @Test
+    public void testDeleteAllAndDeleteRanges() {
+        sb.append("a-b-c--d-");
+
+        Assert.assertEquals("abcd", sb.deleteAll('-').toString());
+        Assert.assertEquals("abcd", sb.deleteAll('x').toString());
+
+        sb.append("efghij");
+        sb.deleteRanges(new int[] { 0, 2, 4, 10 }, new int[] { 1, 3, 6, 10 });
+        Assert.assertEquals("bdghij", sb.toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testDeleteRangesOverlapping() {
+        sb.append("abcdef").deleteRanges(new int[] { 0, 2 }, new int[] { 3, 4 });
+    }
+
+    @Test
+    public void testFreezeSharesUntilChanged() {
+        sb.append("hello");
+
+        Snapshot snapshot = sb.freeze();
+        sb.append(" world");
+
+        Assert.assertEquals("hello", snapshot.toString());
+        Assert.assertEquals("hello world", sb.toString());
+
+        sb.replace(0, 1, "J").reverse();
+        Assert.assertEquals("hello", snapshot.toString());
+        Assert.assertEquals("dlrow olleJ", sb.toString());
+
+        Snapshot second = sb.freeze();
+        sb.setLength(5);
+        sb.append("!").insert(0, 1.5).deleteCharAt(3);
+        Assert.assertEquals("dlrow olleJ", second.toString());
+        Assert.assertEquals("1.5lrow!", sb.toString());
+
+        sb.reset().append("x");
+        Assert.assertEquals("hello", snapshot.toString());
+        Assert.assertEquals("dlrow olleJ", second.toString());
+        Assert.assertEquals("x", sb.toString());
+    }
+
+    @Test
+    public void testToStringIsCachedUntilChanged() {
+        sb.append("abc");
+
+        String first = sb.toString();
+        Assert.assertSame(first, sb.toString());
+
+        sb.append('d');
+        Assert.assertEquals("abcd", sb.toString());
+
+        sb.setLength(3);
+        Assert.assertEquals("abc", sb.toString());
+
+        String cached = sb.toString();
+        sb.append("de").setLength(3);
+        Assert.assertSame(cached, sb.toString());
+
+        sb.deleteCharAt(0);
+        Assert.assertEquals("bc", sb.toString());
+
+        sb.setLength(2);
+        sb.insert(0, 'x');
+        Assert.assertEquals("xbc", sb.toString());
+    }
+
+    @Test
+    public void testAppendAllGrowsOnce() {
+        StringBuilder builder = new StringBuilder(4);
+
+        builder.append("ab").appendAll("cd", new java.lang.StringBuilder("ef"), "", "ghijklmnop");
+        Assert.assertEquals("abcdefghijklmnop", builder.toString());
+        Assert.assertEquals(32, builder.getCapacity());
+
+        builder.appendAll(List.of("-", "q")).appendAll(builder, "!");
+        Assert.assertEquals("abcdefghijklmnop-qabcdefghijklmnop-q!", builder.toString());
+    }
+
+    @Test
+    public void testJoin() {
+        sb.append("IN ").join(", ", "(", ")", List.of("1", "2", "3"));
+        Assert.assertEquals("IN (1, 2, 3)", sb.toString());
+
+        Assert.assertEquals("[]", new StringBuilder().join(",", "[", "]", List.of()).toString());
+        Assert.assertEquals("a", new StringBuilder().join(",", "", "", List.of("a")).toString());
+
+        StringBuilder self = new StringBuilder("ab");
+        self.join(",", "[", "]", List.of("x", self)).join(self, self, "", List.of("1", "2"));
+        Assert.assertEquals("ab[x,ab]ab[x,ab]1ab[x,ab]2", self.toString());
+    }
+
+    @Test
+    public void testAppendRepeated() {
+        sb.append("<").appendRepeated("ab", 5).append('>');
+        Assert.assertEquals("<ababababab>", sb.toString());
+
+        sb.appendRepeated("x", 0).appendRepeated("", 3).appendRepeated(sb, 2);
+        Assert.assertEquals("<ababababab><ababababab><ababababab>", sb.toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testAppendRepeatedNegativeCount() {
+        sb.appendRepeated("a", -1);
+    }
 }
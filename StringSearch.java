@@ -0,0 +1,153 @@
+package Coding.StringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Substring search directly over the used part of a char array, with the same results as String.indexOf
+ * and String.lastIndexOf. Single chars go to CharArrayOperations, short patterns use a first-char scan followed
+ * by a compare, and long patterns (where the per-call skip table pays for itself) use Boyer-Moore-Horspool,
+ * scanning in the search direction.
+ */
+final class StringSearch {
+
+    private final static int HORSPOOL_MIN_PATTERN_LENGTH = 16;
+
+    private final static int HORSPOOL_MIN_SOURCE_LENGTH = 256;
+
+    private final static int SKIP_TABLE_SIZE = 256;
+
+    private StringSearch() {
+    }
+
+    static int indexOf(char[] source, int sourceLength, String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.max(fromIndex, 0);
+
+        if (start >= sourceLength) {
+            return valueLength == 0 ? sourceLength : -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        if (valueLength == 1) {
+            return CharArrayOperations.INSTANCE.indexOf(source, sourceLength, value.charAt(0), start);
+        }
+
+        if (valueLength >= HORSPOOL_MIN_PATTERN_LENGTH && sourceLength - start >= HORSPOOL_MIN_SOURCE_LENGTH) {
+            return indexOfHorspool(source, sourceLength, value, start);
+        }
+
+        char first = value.charAt(0);
+        int last = sourceLength - valueLength;
+
+        for (int i = start; i <= last; i++) {
+            if (source[i] == first && regionMatches(source, i + 1, value, 1, valueLength - 1)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    static int lastIndexOf(char[] source, int sourceLength, String value, int fromIndex) {
+        int valueLength = value.length();
+        int start = Math.min(fromIndex, sourceLength - valueLength);
+
+        if (start < 0) {
+            return -1;
+        }
+
+        if (valueLength == 0) {
+            return start;
+        }
+
+        if (valueLength == 1) {
+            return CharArrayOperations.INSTANCE.lastIndexOf(source, sourceLength, value.charAt(0), start);
+        }
+
+        if (valueLength >= HORSPOOL_MIN_PATTERN_LENGTH && start + valueLength >= HORSPOOL_MIN_SOURCE_LENGTH) {
+            return lastIndexOfHorspool(source, value, start);
+        }
+
+        char first = value.charAt(0);
+
+        for (int i = start; i >= 0; i--) {
+            if (source[i] == first && regionMatches(source, i + 1, value, 1, valueLength - 1)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    static boolean regionMatches(char[] source, int sourceOffset, String value, int valueOffset, int length) {
+        for (int j = 0; j < length; j++) {
+            if (source[sourceOffset + j] != value.charAt(valueOffset + j)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks the last char of the window before the rest of it, then shifts it by the distance between the char under its last position
+     * and that char's last occurrence in the pattern. Chars are bucketed by their low byte; a bucket keeps the
+     * smallest shift of the chars that share it, which keeps the shifts safe.
+     */
+    private static int indexOfHorspool(char[] source, int sourceLength, String value, int start) {
+        int valueLength = value.length();
+        int lastInValue = valueLength - 1;
+        int[] skip = new int[SKIP_TABLE_SIZE];
+
+        Arrays.fill(skip, valueLength);
+        for (int j = 0; j < lastInValue; j++) {
+            skip[value.charAt(j) & 0xFF] = lastInValue - j;
+        }
+
+        char lastChar = value.charAt(lastInValue);
+        int last = sourceLength - valueLength;
+
+        for (int i = start; i <= last; ) {
+            char windowLast = source[i + lastInValue];
+
+            if (windowLast == lastChar && regionMatches(source, i, value, 0, lastInValue)) {
+                return i;
+            }
+
+            i += skip[windowLast & 0xFF];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Mirror image of indexOfHorspool: the window moves left and shifts by the first occurrence of the char under
+     * its first position.
+     */
+    private static int lastIndexOfHorspool(char[] source, String value, int start) {
+        int valueLength = value.length();
+        int[] skip = new int[SKIP_TABLE_SIZE];
+
+        Arrays.fill(skip, valueLength);
+        for (int j = valueLength - 1; j > 0; j--) {
+            skip[value.charAt(j) & 0xFF] = j;
+        }
+
+        char firstChar = value.charAt(0);
+
+        for (int i = start; i >= 0; ) {
+            char windowFirst = source[i];
+
+            if (windowFirst == firstChar && regionMatches(source, i + 1, value, 1, valueLength - 1)) {
+                return i;
+            }
+
+            i -= skip[windowFirst & 0xFF];
+        }
+
+        return -1;
+    }
+}
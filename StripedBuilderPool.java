@@ -0,0 +1,66 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared pool of idle builders kept in lock-free slots. The slots are grouped into stripes and every thread
+ * only looks at the stripe picked by its id, so threads mostly swap builders in slots nobody else touches.
+ */
+public class StripedBuilderPool extends BuilderPool {
+
+    private final AtomicReferenceArray<StringBuilder> slots;
+
+    private final int stripeMask;
+
+    private final int buildersPerStripe;
+
+    public StripedBuilderPool(int stripes, int buildersPerStripe, int initialCapacity, int maxRetainedCapacity) {
+        super(initialCapacity, maxRetainedCapacity);
+
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1 || buildersPerStripe <= 0) {
+            throw new InvalidParameterException("Stripes must be a power of two and both counts positive.");
+        }
+
+        this.slots = new AtomicReferenceArray<>(stripes * buildersPerStripe);
+        this.stripeMask = stripes - 1;
+        this.buildersPerStripe = buildersPerStripe;
+    }
+
+    @Override
+    protected StringBuilder take() {
+        int start = getStripeStart();
+
+        for (int i = start; i < start + buildersPerStripe; i++) {
+            if (slots.get(i) != null) {
+                StringBuilder builder = slots.getAndSet(i, null);
+
+                if (builder != null) {
+                    return builder;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    protected boolean offer(StringBuilder builder) {
+        int start = getStripeStart();
+
+        for (int i = start; i < start + buildersPerStripe; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, builder)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int getStripeStart() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+
+        return ((hash ^ (hash >>> 16)) & stripeMask) * buildersPerStripe;
+    }
+}
@@ -0,0 +1,282 @@
+package Coding.StringBuilder;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * A message shape such as "user={} took {}ms", parsed once into the literal chars between its slots.
+ * Rendering reserves room in the builder once and then appends literals and arguments in turn; primitive
+ * arguments are written by the builder itself, so no String is created for them. A backslash before a brace
+ * makes it literal, as in "\\{}".
+ * Templates are immutable and can be shared between threads.
+ */
+public final class Template {
+
+    /**
+     * Room reserved for an argument whose length is not known up front.
+     */
+    private final static int SLOT_ESTIMATE = 16;
+
+    private final static int INT_ESTIMATE = 11;
+
+    private final static int LONG_ESTIMATE = 20;
+
+    private final static char[] NULL_CHARS = { 'n', 'u', 'l', 'l' };
+
+    private final String pattern;
+
+    /**
+     * The literal before each slot, followed by the one after the last slot.
+     */
+    private final char[][] literals;
+
+    private final int literalLength;
+
+    private Template(String pattern, char[][] literals, int literalLength) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.literalLength = literalLength;
+    }
+
+    public static Template compile(String pattern) {
+        if (pattern == null) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        int length = pattern.length();
+        int slots = 0;
+
+        for (int i = 0; i < length - 1; i++) {
+            char c = pattern.charAt(i);
+
+            if (c == '\\' && pattern.charAt(i + 1) == '{') {
+                i++;
+            } else if (c == '{' && pattern.charAt(i + 1) == '}') {
+                slots++;
+                i++;
+            }
+        }
+
+        char[][] literals = new char[slots + 1][];
+        char[] literal = new char[length];
+        int literalIndex = 0;
+        int literalEnd = 0;
+        int literalLength = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            boolean hasNext = i + 1 < length;
+
+            if (c == '\\' && hasNext && pattern.charAt(i + 1) == '{') {
+                literal[literalEnd++] = '{';
+                i++;
+            } else if (c == '{' && hasNext && pattern.charAt(i + 1) == '}') {
+                literals[literalIndex++] = Arrays.copyOf(literal, literalEnd);
+                literalLength += literalEnd;
+                literalEnd = 0;
+                i++;
+            } else {
+                literal[literalEnd++] = c;
+            }
+        }
+
+        literals[literalIndex] = Arrays.copyOf(literal, literalEnd);
+        literalLength += literalEnd;
+
+        return new Template(pattern, literals, literalLength);
+    }
+
+    public int getSlotCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * Render the arguments into a new String.
+     */
+    public String format(Object... args) {
+        return render(new StringBuilder(literalLength + estimate(args)), args).toString();
+    }
+
+    /**
+     * Append the template with one argument per slot. CharSequences are copied as they are, boxed primitives are
+     * written by the matching append of the builder and anything else through its toString().
+     *
+     * @return the builder
+     */
+    public <T extends Builder> T render(T builder, Object... args) {
+        if (args.length != literals.length - 1) {
+            throw new InvalidParameterException("Invalid value.");
+        }
+
+        builder.ensureCapacity(builder.length() + literalLength + estimate(args));
+        appendLiteral(builder, 0);
+
+        for (int i = 0; i < args.length; i++) {
+            appendArgument(builder, args[i]);
+            appendLiteral(builder, i + 1);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Start rendering into the builder with typed arguments, one per slot, which avoids boxing primitives.
+     * The literal up to the first slot is appended right away.
+     */
+    public Renderer into(Builder builder) {
+        builder.ensureCapacity(builder.length() + literalLength + (literals.length - 1) * SLOT_ESTIMATE);
+        appendLiteral(builder, 0);
+
+        return new Renderer(builder);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private void appendLiteral(Builder builder, int literal) {
+        if (literals[literal].length > 0) {
+            builder.append(literals[literal]);
+        }
+    }
+
+    private static void appendArgument(Builder builder, Object arg) {
+        if (arg instanceof CharSequence) {
+            builder.append((CharSequence) arg);
+        } else if (arg instanceof Integer) {
+            builder.append((int) (Integer) arg);
+        } else if (arg instanceof Long) {
+            builder.append((long) (Long) arg);
+        } else if (arg instanceof Double) {
+            builder.append((double) (Double) arg);
+        } else if (arg instanceof Float) {
+            builder.append((float) (Float) arg);
+        } else if (arg instanceof Character) {
+            builder.append((char) (Character) arg);
+        } else if (arg instanceof Boolean) {
+            builder.append((boolean) (Boolean) arg);
+        } else if (arg instanceof Short || arg instanceof Byte) {
+            builder.append(((Number) arg).intValue());
+        } else if (arg == null) {
+            builder.append(NULL_CHARS);
+        } else {
+            builder.append(arg.toString());
+        }
+    }
+
+    private static int estimate(Object[] args) {
+        long estimate = 0;
+
+        for (Object arg : args) {
+            if (arg instanceof CharSequence) {
+                estimate += ((CharSequence) arg).length();
+            } else if (arg instanceof Integer) {
+                estimate += INT_ESTIMATE;
+            } else if (arg instanceof Long) {
+                estimate += LONG_ESTIMATE;
+            } else if (arg instanceof Double) {
+                estimate += FloatingDigits.MAX_DOUBLE_LENGTH;
+            } else {
+                estimate += SLOT_ESTIMATE;
+            }
+        }
+
+        return (int) Math.min(estimate, GrowthPolicy.MAX_CAPACITY);
+    }
+
+    /**
+     * Fills the slots of one rendering in order. Every arg appends the value and then the literal that follows
+     * its slot; done() checks that every slot was filled.
+     */
+    public final class Renderer {
+
+        private final Builder builder;
+
+        private int slot = 0;
+
+        private Renderer(Builder builder) {
+            this.builder = builder;
+        }
+
+        public Renderer arg(CharSequence value) {
+            checkSlot();
+            builder.append(value == null ? "null" : value);
+
+            return next();
+        }
+
+        public Renderer arg(char value) {
+            checkSlot();
+            builder.append(value);
+
+            return next();
+        }
+
+        public Renderer arg(boolean value) {
+            checkSlot();
+            builder.append(value);
+
+            return next();
+        }
+
+        public Renderer arg(int value) {
+            checkSlot();
+            builder.append(value);
+
+            return next();
+        }
+
+        public Renderer arg(long value) {
+            checkSlot();
+            builder.append(value);
+
+            return next();
+        }
+
+        public Renderer arg(float value) {
+            checkSlot();
+            builder.append(value);
+
+            return next();
+        }
+
+        public Renderer arg(double value) {
+            checkSlot();
+            builder.append(value);
+
+            return next();
+        }
+
+        public Renderer arg(Object value) {
+            checkSlot();
+            appendArgument(builder, value);
+
+            return next();
+        }
+
+        /**
+         * @return the builder
+         * @throws IllegalStateException if a slot was not filled
+         */
+        public Builder done() {
+            if (slot != literals.length - 1) {
+                throw new IllegalStateException("Not every slot was filled.");
+            }
+
+            return builder;
+        }
+
+        private void checkSlot() {
+            if (slot == literals.length - 1) {
+                throw new IllegalStateException("Every slot is already filled.");
+            }
+        }
+
+        private Renderer next() {
+            appendLiteral(builder, ++slot);
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Coding.StringBuilder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.InvalidParameterException;
+
+public class TemplateTest {
+
+    @Test
+    public void testRender() {
+        Template template = Template.compile("user={} took {}ms");
+
+        Assert.assertEquals(2, template.getSlotCount());
+        Assert.assertEquals("user=bob took 42ms", template.format("bob", 42L));
+
+        StringBuilder sb = new StringBuilder();
+        template.render(sb, "ann", 1.5).append('|');
+        template.render(sb, null, 'x');
+
+        Assert.assertEquals("user=ann took 1.5ms|user=null took xms", sb.toString());
+    }
+
+    @Test
+    public void testRendererWithPrimitives() {
+        Template template = Template.compile("{}:{},{}");
+        StringBuilder sb = new StringBuilder(1);
+
+        template.into(sb).arg(-7).arg(true).arg(2.5f).done();
+
+        Assert.assertEquals("-7:true,2.5", sb.toString());
+    }
+
+    @Test
+    public void testLiteralsAndEscapes() {
+        Assert.assertEquals("no slots", Template.compile("no slots").format());
+        Assert.assertEquals("{} and {x} and 1", Template.compile("\\{} and {x} and {}").format(1));
+        Assert.assertEquals("ab", Template.compile("{}{}").format("a", new StringBuilder("b")));
+        Assert.assertEquals("{", Template.compile("{").format());
+    }
+
+    @Test
+    public void testOtherBuilders() {
+        Template template = Template.compile("[{}={}]");
+
+        Assert.assertEquals("[k=12]", template.render(new GapBuilder(), "k", 12).toString());
+        Assert.assertEquals("[k=12]", template.render(new ChunkedBuilder(), "k", (short) 12).toString());
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testWrongArgumentCount() {
+        Template.compile("{} {}").format("only one");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnfilledSlot() {
+        Template.compile("{} {}").into(new StringBuilder()).arg(1).done();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTooManyArguments() {
+        Template.compile("{}").into(new StringBuilder()).arg(1).arg(2);
+    }
+}
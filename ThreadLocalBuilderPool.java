@@ -0,0 +1,36 @@
+package Coding.StringBuilder;
+
+/**
+ * Keeps at most one idle builder per thread. Borrowing and releasing on the same thread never contends.
+ */
+public class ThreadLocalBuilderPool extends BuilderPool {
+
+    private final ThreadLocal<StringBuilder[]> slots = ThreadLocal.withInitial(() -> new StringBuilder[1]);
+
+    public ThreadLocalBuilderPool(int initialCapacity, int maxRetainedCapacity) {
+        super(initialCapacity, maxRetainedCapacity);
+    }
+
+    @Override
+    protected StringBuilder take() {
+        StringBuilder[] slot = slots.get();
+        StringBuilder builder = slot[0];
+
+        slot[0] = null;
+
+        return builder;
+    }
+
+    @Override
+    protected boolean offer(StringBuilder builder) {
+        StringBuilder[] slot = slots.get();
+
+        if (slot[0] != null) {
+            return false;
+        }
+
+        slot[0] = builder;
+
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+package Coding.StringBuilder;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * CharArrayOperations on top of the incubating Vector API, processing one preferred-width ShortVector
+ * of chars per step and finishing the remainder with scalar code. Only ever loaded reflectively by
+ * CharArrayOperations, so the rest of the library runs without the module.
+ */
+final class VectorCharArrayOperations implements CharArrayOperations {
+
+    private final static VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    private final static int LANES = SPECIES.length();
+
+    private final static VectorShuffle<Short> REVERSED_LANES = VectorShuffle.fromOp(SPECIES, i -> LANES - 1 - i);
+
+    /**
+     * Swaps one vector from each end per step, reversing the lanes of both with a shuffle on the way,
+     * until less than two vectors are left in the middle.
+     */
+    @Override
+    public void reverse(char[] arr, int length) {
+        int head = 0;
+        int tail = length;
+
+        while (tail - head >= 2 * LANES) {
+            ShortVector headVector = ShortVector.fromCharArray(SPECIES, arr, head);
+            ShortVector tailVector = ShortVector.fromCharArray(SPECIES, arr, tail - LANES);
+
+            headVector.rearrange(REVERSED_LANES).intoCharArray(arr, tail - LANES);
+            tailVector.rearrange(REVERSED_LANES).intoCharArray(arr, head);
+
+            head += LANES;
+            tail -= LANES;
+        }
+
+        for (tail--; head < tail; head++, tail--) {
+            char tmp = arr[head];
+            arr[head] = arr[tail];
+            arr[tail] = tmp;
+        }
+    }
+
+    @Override
+    public int indexOf(char[] arr, int length, char value, int fromIndex) {
+        int i = Math.max(fromIndex, 0);
+        short target = (short) value;
+
+        for (; i <= length - LANES; i += LANES) {
+            VectorMask<Short> matches = ShortVector.fromCharArray(SPECIES, arr, i).eq(target);
+
+            if (matches.anyTrue()) {
+                return i + matches.firstTrue();
+            }
+        }
+
+        for (; i < length; i++) {
+            if (arr[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(char[] arr, int length, char value, int fromIndex) {
+        int i = Math.min(fromIndex, length - 1);
+        short target = (short) value;
+
+        for (; i - LANES + 1 >= 0; i -= LANES) {
+            VectorMask<Short> matches = ShortVector.fromCharArray(SPECIES, arr, i - LANES + 1).eq(target);
+
+            if (matches.anyTrue()) {
+                return i - LANES + 1 + matches.lastTrue();
+            }
+        }
+
+        for (; i >= 0; i--) {
+            if (arr[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean isLatin1(char[] arr, int from, int to) {
+        return (or(arr, from, to) & 0xFF00) == 0;
+    }
+
+    @Override
+    public boolean isAscii(char[] arr, int from, int to) {
+        return (or(arr, from, to) & 0xFF80) == 0;
+    }
+
+    private static int or(char[] arr, int from, int to) {
+        ShortVector bits = ShortVector.zero(SPECIES);
+        int i = from;
+
+        for (; i <= to - LANES; i += LANES) {
+            bits = bits.or(ShortVector.fromCharArray(SPECIES, arr, i));
+        }
+
+        int result = bits.reduceLanes(VectorOperators.OR) & 0xFFFF;
+
+        for (; i < to; i++) {
+            result |= arr[i];
+        }
+
+        return result;
+    }
+}
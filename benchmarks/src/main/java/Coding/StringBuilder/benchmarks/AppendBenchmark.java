@@ -0,0 +1,152 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.Builder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a buffer of roughly size chars from a fresh default-capacity builder, one value type per benchmark,
+ * so the growth copies are part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppendBenchmark {
+
+    @Param({ Builders.JDK, Builders.ARRAY, Builders.COMPACT, Builders.ROPE, Builders.GAP, Builders.CHUNKED })
+    public String implementation;
+
+    @Param({ "16", "1024", "65536" })
+    public int size;
+
+    private final static String WORD = "metrics.";
+
+    private final static char[] WORD_CHARS = WORD.toCharArray();
+
+    private final static Object OBJECT = new Object() {
+        @Override
+        public String toString() {
+            return WORD;
+        }
+    };
+
+    private int count;
+
+    @Setup
+    public void setup() {
+        count = Math.max(1, size / WORD.length());
+    }
+
+    @Benchmark
+    public Builder appendChar() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < size; i++) {
+            builder.append('x');
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendString() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(WORD);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendCharArray() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(WORD_CHARS);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendObject() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(OBJECT);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendBoolean() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append((i & 1) == 0);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendInt() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(i * 7919 - 1_000_000);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendLong() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(i * 2_147_483_659L);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendFloat() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(i * 0.37f);
+        }
+
+        return builder;
+    }
+
+    @Benchmark
+    public Builder appendDouble() {
+        Builder builder = Builders.create(implementation, 10);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(i * 0.37d);
+        }
+
+        return builder;
+    }
+}
@@ -0,0 +1,28 @@
+package Coding.StringBuilder.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line and always attaches the GC profiler,
+ * so every result carries gc.alloc.rate.norm (bytes allocated per operation). The forks get the incubating
+ * Vector API module, so the vectorized char array operations are measured; pass
+ * -jvmArgsAppend -DCoding.StringBuilder.vectorize=false to measure the scalar ones.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .jvmArgsPrepend("--add-modules", "jdk.incubator.vector")
+                .build();
+
+        new Runner(options).run();
+    }
+}
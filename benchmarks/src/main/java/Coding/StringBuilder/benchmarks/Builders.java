@@ -0,0 +1,61 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.Builder;
+import Coding.StringBuilder.ChunkedBuilder;
+import Coding.StringBuilder.CompactStringBuilder;
+import Coding.StringBuilder.GapBuilder;
+import Coding.StringBuilder.RopeBuilder;
+import Coding.StringBuilder.StringBuilder;
+
+/**
+ * Maps the implementation names used as JMH parameters to builders.
+ */
+final class Builders {
+
+    static final String JDK = "jdk";
+
+    static final String ARRAY = "array";
+
+    static final String COMPACT = "compact";
+
+    static final String ROPE = "rope";
+
+    static final String GAP = "gap";
+
+    static final String CHUNKED = "chunked";
+
+    private Builders() {
+    }
+
+    static Builder create(String implementation, int capacity) {
+        switch (implementation) {
+            case JDK:
+                return new JdkBuilder(capacity);
+            case ARRAY:
+                return new StringBuilder(capacity);
+            case COMPACT:
+                return new CompactStringBuilder(capacity);
+            case ROPE:
+                return new RopeBuilder();
+            case GAP:
+                return new GapBuilder(capacity);
+            case CHUNKED:
+                return new ChunkedBuilder();
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    /**
+     * A builder holding size chars of lower-case ASCII text, with no free capacity to spare beyond the growth policy.
+     */
+    static Builder filled(String implementation, int size) {
+        Builder builder = create(implementation, 16);
+
+        for (int i = 0; i < size; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+
+        return builder;
+    }
+}
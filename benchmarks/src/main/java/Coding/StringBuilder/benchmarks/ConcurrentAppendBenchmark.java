@@ -0,0 +1,128 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.ConcurrentBuilder;
+import Coding.StringBuilder.StringBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed amount of fragments appended by threads workers to one shared builder, followed by reading the result.
+ * With the work split evenly, the throughput shows how each builder scales with the number of threads:
+ * the striped builder in both merge orders against our builder behind a lock and java.lang.StringBuffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentAppendBenchmark {
+
+    private final static int FRAGMENTS = 1 << 16;
+
+    private final static String FRAGMENT = "fragment-";
+
+    @Param({ "striped-thread", "striped-ticket", "synchronized", "string-buffer" })
+    public String implementation;
+
+    @Param({ "1", "2", "4", "8", "16", "32", "64" })
+    public int threads;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String append() throws Exception {
+        int perThread = FRAGMENTS / threads;
+        List<Callable<Void>> tasks = new ArrayList<>(threads);
+
+        switch (implementation) {
+            case "striped-thread":
+            case "striped-ticket": {
+                ConcurrentBuilder builder = new ConcurrentBuilder("striped-thread".equals(implementation)
+                        ? ConcurrentBuilder.MergeOrder.THREAD
+                        : ConcurrentBuilder.MergeOrder.TICKET);
+
+                for (int t = 0; t < threads; t++) {
+                    tasks.add(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            builder.append(FRAGMENT).append(i);
+                        }
+                        return null;
+                    });
+                }
+
+                run(tasks);
+                return builder.toString();
+            }
+            case "synchronized": {
+                StringBuilder builder = new StringBuilder();
+
+                for (int t = 0; t < threads; t++) {
+                    tasks.add(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            synchronized (builder) {
+                                builder.append(FRAGMENT).append(i);
+                            }
+                        }
+                        return null;
+                    });
+                }
+
+                run(tasks);
+                return builder.toString();
+            }
+            case "string-buffer": {
+                StringBuffer builder = new StringBuffer();
+
+                for (int t = 0; t < threads; t++) {
+                    tasks.add(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            builder.append(FRAGMENT).append(i);
+                        }
+                        return null;
+                    });
+                }
+
+                run(tasks);
+                return builder.toString();
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    private void run(List<Callable<Void>> tasks) throws Exception {
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+}
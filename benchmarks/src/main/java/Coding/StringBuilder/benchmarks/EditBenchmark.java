@@ -0,0 +1,117 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.Builder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single insert and delete operations on a buffer of size chars, at the head, middle or tail.
+ * Each edit is undone in an invocation-level tear down, outside of the measured region and without allocating,
+ * so every invocation sees the same buffer and the allocation rate belongs to the edit alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EditBenchmark {
+
+    @Param({ Builders.JDK, Builders.ARRAY, Builders.COMPACT, Builders.ROPE, Builders.GAP, Builders.CHUNKED })
+    public String implementation;
+
+    @Param({ "16", "1024", "65536" })
+    public int size;
+
+    @Param({ "head", "middle", "tail" })
+    public String position;
+
+    private final static String CHUNK = "insert";
+
+    private Builder builder;
+
+    private int offset;
+
+    private int removedLength;
+
+    private char[] removed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        builder = Builders.filled(implementation, size);
+
+        switch (position) {
+            case "head":
+                offset = 0;
+                break;
+            case "middle":
+                offset = size / 2;
+                break;
+            default:
+                offset = size - CHUNK.length();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() {
+        int grown = builder.length() - size;
+
+        if (grown > 0) {
+            builder.delete(offset, offset + grown);
+        } else if (removedLength > 0) {
+            builder.append(removed, offset, removedLength);
+            removedLength = 0;
+        }
+    }
+
+    @Benchmark
+    public Builder insertString() {
+        return builder.insert(offset, CHUNK);
+    }
+
+    @Benchmark
+    public Builder insertChar() {
+        return builder.insert(offset, 'x');
+    }
+
+    @Benchmark
+    public Builder insertInt() {
+        return builder.insert(offset, 123456);
+    }
+
+    @Benchmark
+    public Builder delete() {
+        prepareRemoval(CHUNK.length());
+        return builder.delete(offset, offset + CHUNK.length());
+    }
+
+    @Benchmark
+    public Builder deleteCharAt() {
+        prepareRemoval(1);
+        return builder.deleteCharAt(offset);
+    }
+
+    private void prepareRemoval(int length) {
+        removedLength = length;
+
+        if (removed == null) {
+            removed = new char[CHUNK.length()];
+            for (int i = 0; i < removed.length; i++) {
+                removed[i] = builder.charAt(offset + i);
+            }
+        }
+    }
+}
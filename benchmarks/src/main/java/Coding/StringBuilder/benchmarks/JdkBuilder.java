@@ -0,0 +1,232 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.Builder;
+
+/**
+ * Baseline: exposes java.lang.StringBuilder through the Builder interface, so every benchmark
+ * pays the same interface dispatch for the JDK and for our implementations.
+ */
+public class JdkBuilder implements Builder {
+
+    private final java.lang.StringBuilder sb;
+
+    public JdkBuilder(int capacity) {
+        sb = new java.lang.StringBuilder(capacity);
+    }
+
+    @Override
+    public Builder append(char value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(char[] charSequence) {
+        sb.append(charSequence);
+        return this;
+    }
+
+    @Override
+    public Builder append(char[] charSequence, int offset, int length) {
+        sb.insert(offset, charSequence, 0, length);
+        return this;
+    }
+
+    @Override
+    public Builder append(String value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(CharSequence value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(CharSequence value, int start, int end) {
+        sb.append(value, start, end);
+        return this;
+    }
+
+    @Override
+    public Builder append(boolean value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(int value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(long value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(float value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(double value) {
+        sb.append(value);
+        return this;
+    }
+
+    @Override
+    public Builder append(Object object) {
+        sb.append(object);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, char value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, char[] charSequence) {
+        sb.insert(offset, charSequence);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, String value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, CharSequence value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, int value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, long value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, float value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, double value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, boolean value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public Builder insert(int offset, Object value) {
+        sb.insert(offset, value);
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return sb.length();
+    }
+
+    @Override
+    public char charAt(int position) {
+        return sb.charAt(position);
+    }
+
+    @Override
+    public int getCapacity() {
+        return sb.capacity();
+    }
+
+    @Override
+    public Builder deleteCharAt(int position) {
+        sb.deleteCharAt(position);
+        return this;
+    }
+
+    @Override
+    public Builder delete(int start, int end) {
+        sb.delete(start, end);
+        return this;
+    }
+
+    @Override
+    public Builder reverse() {
+        sb.reverse();
+        return this;
+    }
+
+    @Override
+    public int lastIndexOf(String value) {
+        return sb.lastIndexOf(value);
+    }
+
+    @Override
+    public int lastIndexOf(String value, int fromIndex) {
+        return sb.lastIndexOf(value, fromIndex);
+    }
+
+    @Override
+    public int indexOf(String value) {
+        return sb.indexOf(value);
+    }
+
+    @Override
+    public int indexOf(String value, int fromIndex) {
+        return sb.indexOf(value, fromIndex);
+    }
+
+    /**
+     * A charAt scan: java.lang.StringBuilder only searches for Strings, and creating one per call would be
+     * measured too.
+     */
+    @Override
+    public int indexOf(char value, int fromIndex) {
+        for (int i = Math.max(fromIndex, 0); i < sb.length(); i++) {
+            if (sb.charAt(i) == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(char value, int fromIndex) {
+        for (int i = Math.min(fromIndex, sb.length() - 1); i >= 0; i--) {
+            if (sb.charAt(i) == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
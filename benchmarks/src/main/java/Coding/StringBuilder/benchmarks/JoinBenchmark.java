@@ -0,0 +1,72 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.StringBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An SQL IN-list of count ids built from a default-capacity builder: one append per piece against join, which
+ * measures the result and grows once, with String.join as the reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JoinBenchmark {
+
+    @Param({ "100", "10000" })
+    public int count;
+
+    private List<String> ids;
+
+    @Setup
+    public void setup() {
+        ids = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ids.add(Integer.toString(1_000_000 + i * 7));
+        }
+    }
+
+    @Benchmark
+    public StringBuilder appendLoop() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("id IN (");
+
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            sb.append(ids.get(i));
+        }
+
+        return sb.append(")");
+    }
+
+    @Benchmark
+    public StringBuilder join() {
+        return new StringBuilder().append("id").join(", ", " IN (", ")", ids);
+    }
+
+    @Benchmark
+    public String stringJoin() {
+        return "id IN (" + String.join(", ", ids) + ")";
+    }
+}
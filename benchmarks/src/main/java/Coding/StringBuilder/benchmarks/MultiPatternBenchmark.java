@@ -0,0 +1,117 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.MultiPattern;
+import Coding.StringBuilder.StringBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redaction of a set of tokens in a 64K buffer: finding all of them with one indexOf loop per token against one
+ * pass of a MultiPattern, and replacing all of them with one replaceAll per token against one MultiPattern
+ * replaceAll.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiPatternBenchmark {
+
+    private final static int SIZE = 1 << 16;
+
+    @Param({ "10", "100", "500" })
+    public int tokens;
+
+    private String[] patterns;
+
+    private CharSequence[] replacements;
+
+    private MultiPattern multiPattern;
+
+    private String text;
+
+    private StringBuilder buffer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(22);
+
+        patterns = new String[tokens];
+        replacements = new CharSequence[tokens];
+
+        for (int i = 0; i < tokens; i++) {
+            patterns[i] = "token" + i + "x" + (char) ('a' + random.nextInt(26));
+            replacements[i] = "[redacted]";
+        }
+
+        multiPattern = MultiPattern.compile(patterns);
+
+        java.lang.StringBuilder content = new java.lang.StringBuilder(SIZE);
+
+        while (content.length() < SIZE) {
+            content.append(random.nextInt(50) == 0 ? patterns[random.nextInt(tokens)] : "word" + random.nextInt(100))
+                    .append(' ');
+        }
+
+        text = content.toString();
+        buffer = new StringBuilder(SIZE);
+        buffer.append(text);
+    }
+
+    @Benchmark
+    public int findWithIndexOfLoops() {
+        int found = 0;
+
+        for (String pattern : patterns) {
+            for (int i = buffer.indexOf(pattern); i >= 0; i = buffer.indexOf(pattern, i + pattern.length())) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    @Benchmark
+    public int findWithMultiPattern() {
+        int[] found = { 0 };
+
+        buffer.findAll(multiPattern, (pattern, start) -> found[0]++);
+
+        return found[0];
+    }
+
+    @Benchmark
+    public StringBuilder replaceWithReplaceAllLoops() {
+        StringBuilder sb = new StringBuilder(SIZE);
+        sb.append(text);
+
+        for (int i = 0; i < tokens; i++) {
+            sb.replaceAll(patterns[i], replacements[i]);
+        }
+
+        return sb;
+    }
+
+    @Benchmark
+    public StringBuilder replaceWithMultiPattern() {
+        StringBuilder sb = new StringBuilder(SIZE);
+        sb.append(text);
+
+        sb.replaceAll(multiPattern, replacements);
+
+        return sb;
+    }
+}
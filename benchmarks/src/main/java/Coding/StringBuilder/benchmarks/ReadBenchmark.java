@@ -0,0 +1,107 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.Builder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searching, reversing and materialising a buffer of size chars, the latter both after a change and repeated on
+ * an unchanged buffer.
+ * The searched pattern sits at the far end from where each search starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReadBenchmark {
+
+    @Param({ Builders.JDK, Builders.ARRAY, Builders.COMPACT, Builders.ROPE, Builders.GAP, Builders.CHUNKED })
+    public String implementation;
+
+    @Param({ "16", "1024", "65536" })
+    public int size;
+
+    private final static String PATTERN = "#end";
+
+    private final static String LONG_PATTERN = "#end-of-the-buffer-marker";
+
+    private Builder builder;
+
+    private Builder reversed;
+
+    @Setup
+    public void setup() {
+        builder = Builders.filled(implementation, size);
+        builder.insert(0, PATTERN);
+        builder.append(PATTERN);
+        builder.append(LONG_PATTERN);
+
+        reversed = Builders.filled(implementation, size);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return builder.indexOf(PATTERN, 1);
+    }
+
+    @Benchmark
+    public int indexOfChar() {
+        return builder.indexOf('#', 1);
+    }
+
+    @Benchmark
+    public int lastIndexOfChar() {
+        return builder.lastIndexOf('#', builder.length() - LONG_PATTERN.length() - PATTERN.length() - 1);
+    }
+
+    @Benchmark
+    public int indexOfLongPattern() {
+        return builder.indexOf(LONG_PATTERN);
+    }
+
+    @Benchmark
+    public int count() {
+        return builder.count(PATTERN);
+    }
+
+    @Benchmark
+    public int lastIndexOf() {
+        return builder.lastIndexOf(PATTERN, builder.length() - LONG_PATTERN.length() - PATTERN.length() - 1);
+    }
+
+    @Benchmark
+    public char charAt() {
+        return builder.charAt(builder.length() / 2);
+    }
+
+    @Benchmark
+    public Builder reverse() {
+        return reversed.reverse();
+    }
+
+    /**
+     * Changes the last char first, so builders that cache their String still copy the content every time.
+     */
+    @Benchmark
+    public String toStringCopy() {
+        return builder.deleteCharAt(builder.length() - 1).append('r').toString();
+    }
+
+    @Benchmark
+    public String toStringUnchanged() {
+        return builder.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package Coding.StringBuilder.benchmarks;
+
+import Coding.StringBuilder.Builder;
+import Coding.StringBuilder.StringBuilder;
+import Coding.StringBuilder.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One log-style message with a String and a long argument, rendered by String.format, by MessageFormat (parsed
+ * on every call and precompiled), by a hand-written append chain, and by a Template into a new String or into
+ * a reused builder. All of them produce the same text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateBenchmark {
+
+    private final static Template TEMPLATE = Template.compile("user={} took {}ms");
+
+    private final MessageFormat messageFormat = new MessageFormat("user={0} took {1,number,#}ms", Locale.ROOT);
+
+    private final StringBuilder reused = new StringBuilder(64);
+
+    private final String user = "alice";
+
+    private long millis = 1234;
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(Locale.ROOT, "user=%s took %dms", user, millis++);
+    }
+
+    @Benchmark
+    public String messageFormat() {
+        return MessageFormat.format("user={0} took {1,number,#}ms", user, millis++);
+    }
+
+    @Benchmark
+    public String messageFormatPrecompiled() {
+        return messageFormat.format(new Object[] { user, millis++ });
+    }
+
+    @Benchmark
+    public String appendChain() {
+        return new StringBuilder().append("user=").append(user).append(" took ").append(millis++).append("ms")
+                .toString();
+    }
+
+    @Benchmark
+    public String templateFormat() {
+        return TEMPLATE.format(user, millis++);
+    }
+
+    @Benchmark
+    public Builder templateIntoReusedBuilder() {
+        return TEMPLATE.into(reused.reset()).arg(user).arg(millis++).done();
+    }
+}